@@ -2,14 +2,16 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.dto.IncomingBookingDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,47 +19,73 @@ public class BookingClient extends BaseClient {
 
     private static final String HOST = "${shareit-server.url}";
     private static final String API_PREFIX = "/bookings";
+    private static final List<String> INVALIDATED_FAMILIES = List.of("/bookings", "/items");
 
     @Autowired
-    public BookingClient(@Value(HOST) String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value(HOST) String serverUrl, WebClient.Builder builder,
+                         GatewayResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                INVALIDATED_FAMILIES
         );
     }
 
-    public ResponseEntity<Object> create(Long userId, IncomingBookingDto incomingBookingDto) {
+    public Mono<ResponseEntity<Object>> create(Long userId, IncomingBookingDto incomingBookingDto) {
         return post("/", userId, incomingBookingDto);
     }
 
-    public ResponseEntity<Object> processRequest(Long userId, Long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> processRequest(Long userId, Long bookingId, boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getById(Long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(Long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getAllByBooker(Long userId, String state, Integer from, Integer size, String[] sortBy) {
+    public Mono<ResponseEntity<Object>> getAllByBooker(Long userId, String state, Integer from, Integer size, String[] sortBy,
+                                                 boolean withTotal) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size,
-                "sortBy", sortBy
+                "sortBy", sortBy,
+                "withTotal", withTotal
         );
-        return get("?state={state}&from={from}&size={size}&sortBy={sortBy}", userId, parameters);
+        return get("?state={state}&from={from}&size={size}&sortBy={sortBy}&withTotal={withTotal}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllByOwner(Long userId, String state, Integer from, Integer size, String[] sortBy) {
+    public Mono<ResponseEntity<Object>> getAllByOwner(Long userId, String state, Integer from, Integer size, String[] sortBy,
+                                                boolean withTotal) {
         Map<String, Object> parameters = Map.of(
                 "state", state,
                 "from", from,
                 "size", size,
-                "sortBy", sortBy
+                "sortBy", sortBy,
+                "withTotal", withTotal
         );
-        return get("/owner?state={state}&from={from}&size={size}&sortBy={sortBy}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}&sortBy={sortBy}&withTotal={withTotal}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByBooker(Long userId, String state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwner(Long userId, String state, String cursor, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.config.Create;
 import ru.practicum.shareit.dto.IncomingBookingDto;
 
@@ -23,7 +24,7 @@ public class BookingController {
 	private final BookingClient bookingClient;
 
 	@PostMapping
-	public ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) Long userId,
+	public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) Long userId,
 									 @Validated({Create.class})
 									 @RequestBody IncomingBookingDto incomingBookingDto) {
 		log.info("POST request: добавление бронирования {} пользователем с id {}", incomingBookingDto, userId);
@@ -31,7 +32,7 @@ public class BookingController {
 	}
 
 	@PatchMapping("/{bookingId}")
-	public ResponseEntity<Object> processRequest(@RequestHeader(USER_ID_HEADER) Long userId,
+	public Mono<ResponseEntity<Object>> processRequest(@RequestHeader(USER_ID_HEADER) Long userId,
 								  @PathVariable("bookingId") Long bookingId,
 								  @RequestParam("approved") boolean approved) {
 		log.info("PATCH request: подтверждение бронирования {} пользователем с id {}", bookingId, userId);
@@ -39,29 +40,39 @@ public class BookingController {
 	}
 
 	@GetMapping
-	public ResponseEntity<Object> getAllByBooker(@RequestHeader(USER_ID_HEADER) Long userId,
+	public Mono<ResponseEntity<Object>> getAllByBooker(@RequestHeader(USER_ID_HEADER) Long userId,
 											  @RequestParam(defaultValue = "ALL", required = false) String state,
 											  @RequestParam(defaultValue = "0", required = false) @Min(0) int from,
 											  @RequestParam(defaultValue = "10", required = false) @Min(1) int size,
 											  @RequestParam(defaultValue = "start;DESC",
-													  required = false) String[] sortBy) {
+													  required = false) String[] sortBy,
+											  @RequestParam(required = false) String cursor,
+											  @RequestParam(defaultValue = "false", required = false) boolean withTotal) {
 		log.info("GET request: запрос списка бронирований, пользователем id {} ", userId);
-		return bookingClient.getAllByBooker(userId, state, from, size, sortBy);
+		if (cursor != null) {
+			return bookingClient.getAllByBooker(userId, state, cursor, size);
+		}
+		return bookingClient.getAllByBooker(userId, state, from, size, sortBy, withTotal);
 	}
 
 	@GetMapping("/owner")
-	public ResponseEntity<Object> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+	public Mono<ResponseEntity<Object>> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
 											 @RequestParam(defaultValue = "ALL", required = false) String state,
 											 @RequestParam(defaultValue = "0", required = false) @Min(0) int from,
 											 @RequestParam(defaultValue = "10", required = false) @Min(1) int size,
 											 @RequestParam(defaultValue = "start;DESC",
-													 required = false) String[] sortBy) {
+													 required = false) String[] sortBy,
+											 @RequestParam(required = false) String cursor,
+											 @RequestParam(defaultValue = "false", required = false) boolean withTotal) {
 		log.info("GET request: запрос списка бронирований, владельцем предмета id {} ", userId);
-		return bookingClient.getAllByOwner(userId, state, from, size, sortBy);
+		if (cursor != null) {
+			return bookingClient.getAllByOwner(userId, state, cursor, size);
+		}
+		return bookingClient.getAllByOwner(userId, state, from, size, sortBy, withTotal);
 	}
 
 	@GetMapping("/{bookingId}")
-	public ResponseEntity<Object> getById(@RequestHeader(USER_ID_HEADER) Long userId,
+	public Mono<ResponseEntity<Object>> getById(@RequestHeader(USER_ID_HEADER) Long userId,
 						                  @PathVariable("bookingId") Long bookingId) {
 		log.info("GET request: запрос бронирования id {}, пользователем id {} ", bookingId, userId);
 		return bookingClient.getById(userId, bookingId);
@@ -1,94 +1,190 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
-
-import java.util.List;
-import java.util.Map;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-connection",
+            "transfer-encoding", "te", "trailer", "upgrade", "content-length");
+
+    protected final WebClient rest;
+    private final GatewayResponseCache responseCache;
+    private final String family;
+    private final Collection<String> invalidatedFamilies;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(WebClient rest, GatewayResponseCache responseCache, String family,
+                      Collection<String> invalidatedFamilies) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.family = family;
+        this.invalidatedFamilies = invalidatedFamilies;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    /**
+     * Relays the server body buffer by buffer instead of aggregating it, for responses that may outgrow
+     * {@code spring.codec.max-in-memory-size}. Such responses bypass the gateway cache.
+     */
+    protected Mono<ResponseEntity<StreamingResponseBody>> stream(String path, Long userId,
+                                                                 @Nullable Map<String, Object> parameters) {
+        return rest.get()
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)))
+                .retrieve()
+                .onStatus(HttpStatus::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> ResponseEntity.status(entity.getStatusCodeValue())
+                        .headers(relayedHeaders(entity.getHeaders()))
+                        .body(outputStream -> copy(entity.getBody(), outputStream)));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
         return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (method != HttpMethod.GET) {
+            Mono<ResponseEntity<Object>> response = exchange(method, path, parameters, defaultHeaders(userId), body,
+                    BaseClient::prepareGatewayResponse);
+            return responseCache.isEnabled()
+                    ? response.doFinally(signal -> responseCache.evict(invalidatedFamilies))
+                    : response;
+        }
+        List<String> clientValidators = clientIfNoneMatch();
+        if (!responseCache.isEnabled()) {
+            HttpHeaders headers = defaultHeaders(userId);
+            if (!clientValidators.isEmpty()) {
+                headers.setIfNoneMatch(clientValidators);
+            }
+            return exchange(method, path, parameters, headers, null, BaseClient::prepareGatewayResponse);
+        }
+        return cachedGet(path, userId, parameters, clientValidators);
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+    private Mono<ResponseEntity<Object>> cachedGet(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                                   List<String> clientValidators) {
+        String key = GatewayResponseCache.key(family, path, userId, parameters);
+        long generation = responseCache.generation(family);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return Mono.just(cached.toResponse());
+        }
+        List<String> validators = new ArrayList<>(clientValidators);
+        if (cached != null && cached.getETag() != null && !validators.contains(cached.getETag())) {
+            validators.add(cached.getETag());
+        }
+        HttpHeaders headers = defaultHeaders(userId);
+        if (!validators.isEmpty()) {
+            headers.setIfNoneMatch(validators);
+        }
+        return exchange(HttpMethod.GET, path, parameters, headers, null, response -> {
+            HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+            String eTag = responseHeaders.getETag();
+            if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED
+                    && (eTag == null || eTag.equals(cached.getETag()))) {
+                return response.releaseBody().then(Mono.fromSupplier(() -> responseCache
+                        .revalidated(key, family, generation, cached, responseHeaders).toResponse()));
             }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(response)
+                    .doOnNext(entity -> responseCache.store(key, family, generation, entity));
+        });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                                      HttpHeaders requestHeaders, @Nullable T body,
+                                                      Function<ClientResponse, Mono<ResponseEntity<Object>>> handler) {
+        WebClient.RequestBodySpec request = rest.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(requestHeaders));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(handler);
+    }
+
+    private static List<String> clientIfNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return List.of();
+        }
+        String ifNoneMatch = ((ServletRequestAttributes) attributes).getRequest().getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return List.of();
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .filter(validator -> !validator.isEmpty())
+                .collect(Collectors.toList());
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
@@ -101,17 +197,49 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static Mono<ResponseEntity<Object>> prepareGatewayResponse(ClientResponse response) {
+        if (response.statusCode() == HttpStatus.NOT_MODIFIED) {
+            HttpHeaders validators = new HttpHeaders();
+            HttpHeaders serverHeaders = response.headers().asHttpHeaders();
+            if (serverHeaders.getETag() != null) {
+                validators.setETag(serverHeaders.getETag());
+            }
+            if (serverHeaders.getCacheControl() != null) {
+                validators.setCacheControl(serverHeaders.getCacheControl());
+            }
+            return response.releaseBody()
+                    .then(Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(validators).build()));
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.rawStatusCode())
+                .headers(relayedHeaders(response.headers().asHttpHeaders()));
+
+        return response.bodyToMono(byte[].class)
+                .<ResponseEntity<Object>>map(responseBuilder::body)
+                .defaultIfEmpty(responseBuilder.build());
+    }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+    private static void copy(@Nullable Flux<DataBuffer> body, OutputStream outputStream) throws IOException {
+        if (body == null) {
+            return;
         }
+        try (Stream<DataBuffer> buffers = body.toStream()) {
+            Iterator<DataBuffer> iterator = buffers.iterator();
+            while (iterator.hasNext()) {
+                try (InputStream buffer = iterator.next().asInputStream(true)) {
+                    buffer.transferTo(outputStream);
+                }
+            }
+        }
+    }
 
-        return responseBuilder.build();
+    private static HttpHeaders relayedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
     }
 }
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+class CachedResponse {
+    private final HttpStatus status;
+    private final HttpHeaders headers;
+    private final Object body;
+    private final int bodyLength;
+    private final String eTag;
+    private final Instant expiresAt;
+
+    boolean isFresh() {
+        return Instant.now().isBefore(expiresAt);
+    }
+
+    ResponseEntity<Object> toResponse() {
+        return new ResponseEntity<>(body, headers, status);
+    }
+}
@@ -0,0 +1,143 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches GET responses relayed from the server. An entry is stored only when the server made it
+ * cacheable (max-age or an ETag to revalidate against), or when a default TTL is configured.
+ * Mutations bump the generation of the affected resource families, so responses that were in flight
+ * during the mutation are not stored. The cache is bounded by the total length of the cached bodies,
+ * so a few large booking lists cannot hold as much memory as thousands of small items.
+ */
+@Component
+public class GatewayResponseCache {
+
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final Cache<String, CachedResponse> responses;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public GatewayResponseCache(@Value("${shareit-server.cache.enabled:true}") boolean enabled,
+                                @Value("${shareit-server.cache.max-weight:64MB}") DataSize maxWeight,
+                                @Value("${shareit-server.cache.default-ttl:0s}") Duration defaultTtl,
+                                @Value("${shareit-server.cache.retention:10m}") Duration retention) {
+        this.enabled = enabled;
+        this.defaultTtl = defaultTtl;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxWeight.toBytes())
+                .weigher((String key, CachedResponse cached) -> key.length() + cached.getBodyLength())
+                .expireAfterWrite(retention)
+                .recordStats()
+                .build();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    long generation(String family) {
+        return generations.computeIfAbsent(family, key -> new AtomicLong()).get();
+    }
+
+    void cleanUp() {
+        responses.cleanUp();
+    }
+
+    CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    void store(String key, String family, long generation, ResponseEntity<Object> response) {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            return;
+        }
+        HttpHeaders headers = response.getHeaders();
+        if (Objects.toString(headers.getCacheControl(), "").toLowerCase().contains("no-store")) {
+            return;
+        }
+        Duration ttl = ttl(headers);
+        String eTag = headers.getETag();
+        if (ttl.isZero() && eTag == null) {
+            return;
+        }
+        CachedResponse cached = new CachedResponse(HttpStatus.OK, HttpHeaders.readOnlyHttpHeaders(headers),
+                response.getBody(), bodyLength(headers, response.getBody()), eTag, Instant.now().plus(ttl));
+        if (generation(family) == generation) {
+            responses.put(key, cached);
+        }
+    }
+
+    CachedResponse revalidated(String key, String family, long generation, CachedResponse cached,
+                               HttpHeaders notModifiedHeaders) {
+        CachedResponse refreshed = new CachedResponse(cached.getStatus(), cached.getHeaders(), cached.getBody(),
+                cached.getBodyLength(), cached.getETag(), Instant.now().plus(ttl(notModifiedHeaders)));
+        if (generation(family) == generation) {
+            responses.put(key, refreshed);
+        }
+        return refreshed;
+    }
+
+    public void evict(Collection<String> families) {
+        for (String family : families) {
+            generations.computeIfAbsent(family, key -> new AtomicLong()).incrementAndGet();
+            String prefix = family + " ";
+            responses.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    static String key(String family, String path, Long userId, Map<String, Object> parameters) {
+        StringBuilder key = new StringBuilder(family).append(' ').append(userId).append(' ').append(path);
+        if (parameters != null) {
+            for (Map.Entry<String, Object> parameter : new TreeMap<>(parameters).entrySet()) {
+                Object value = parameter.getValue();
+                key.append('&').append(parameter.getKey()).append('=')
+                        .append(value instanceof Object[] ? Arrays.toString((Object[]) value) : value);
+            }
+        }
+        return key.toString();
+    }
+
+    private static int bodyLength(HttpHeaders headers, Object body) {
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        long length = headers.getContentLength();
+        if (length < 0) {
+            length = Objects.toString(body, "").getBytes(StandardCharsets.UTF_8).length;
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+
+    private Duration ttl(HttpHeaders headers) {
+        String cacheControl = Objects.toString(headers.getCacheControl(), "").toLowerCase();
+        return cacheControl.contains("no-cache") ? Duration.ZERO : maxAge(cacheControl).orElse(defaultTtl);
+    }
+
+    private static Optional<Duration> maxAge(String cacheControl) {
+        for (String directive : cacheControl.split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.startsWith("max-age=")) {
+                try {
+                    return Optional.of(Duration.ofSeconds(Long.parseLong(trimmed.substring("max-age=".length()))));
+                } catch (NumberFormatException exception) {
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit-server.client")
+public class ServerClientProperties {
+
+    /**
+     * Maximum number of pooled connections to the ShareIt server.
+     */
+    private int maxConnections = 200;
+
+    /**
+     * Maximum number of requests waiting for a free connection.
+     */
+    private int pendingAcquireMaxCount = 1000;
+
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /**
+     * Interval of the background eviction of idle and expired connections.
+     */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Negotiate cleartext HTTP/2 (h2c) with the server, falling back to HTTP/1.1.
+     */
+    private boolean http2 = false;
+}
@@ -2,46 +2,74 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String HOST = "${shareit-server.url}";
     private static final String API_PREFIX = "/items";
+    private static final List<String> INVALIDATED_FAMILIES = List.of("/items", "/bookings", "/requests");
 
     @Autowired
-    public ItemClient(@Value(HOST) String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value(HOST) String serverUrl, WebClient.Builder builder,
+                      GatewayResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                INVALIDATED_FAMILIES
         );
     }
 
-    public ResponseEntity<Object> create(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(long userId, long itemId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(long userId, long itemId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> getById(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> getById(long userId, long itemId) {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getItems(long userId, Integer from, Integer size, String[] sortBy) {
+    public Mono<ResponseEntity<Object>> getAvailability(long userId, long itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "start", start.toString(),
+                "end", end.toString()
+        );
+        return get("/" + itemId + "/availability?start={start}&end={end}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<StreamingResponseBody>> getCalendar(long userId, Collection<Long> itemIds,
+                                                                   LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> parameters = Map.of(
+                "ids", itemIds.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                "start", start.toString(),
+                "end", end.toString()
+        );
+        return stream("/calendar?ids={ids}&start={start}&end={end}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItems(long userId, Integer from, Integer size, String[] sortBy) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size,
@@ -50,16 +78,17 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}&sortBy={sortBy}", userId, parameters);
     }
 
-    public ResponseEntity<Object> searchItems(String text, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> searchItems(String text, Integer from, Integer size, String sort) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
-                "size", size
+                "size", size,
+                "sort", sort
         );
-        return get("/search?text={text}&from={from}&size={size}",null, parameters);
+        return get("/search?text={text}&from={from}&size={size}&sort={sort}",null, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDTO) {
+    public Mono<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDTO) {
         return post("/" + itemId + "/comment", userId, commentDTO);
     }
 }
\ No newline at end of file
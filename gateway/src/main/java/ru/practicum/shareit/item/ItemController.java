@@ -2,14 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.config.Create;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
 import javax.validation.constraints.Min;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -22,7 +29,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getAll(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader(USER_ID_HEADER) long userId,
                                                @RequestParam(defaultValue = "0", required = false) @Min(0) int from,
                                                @RequestParam(defaultValue = "10", required = false) @Min(1) int size,
                                                @RequestParam(defaultValue = "id;ASC", required = false) String[] sortBy) {
@@ -31,14 +38,41 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getById(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader(USER_ID_HEADER) long userId,
                                           @PathVariable("itemId") long itemId) {
         log.info("GET request: запрос предмета id {}", itemId);
         return itemClient.getById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                                                  @PathVariable("itemId") long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime start,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime end) {
+        log.info("GET request: запрос доступности предмета id {} с {} по {} пользователем с id {}",
+                itemId, start, end, userId);
+        return itemClient.getAvailability(userId, itemId, start, end);
+    }
+
+    @GetMapping("/calendar")
+    public Mono<ResponseEntity<StreamingResponseBody>> getCalendar(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                   @RequestParam @Size(min = 1, max = 100)
+                                                                   List<Long> ids,
+                                                                   @RequestParam
+                                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                   LocalDateTime start,
+                                                                   @RequestParam
+                                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                                   LocalDateTime end) {
+        log.info("GET request: календарь занятости предметов {} с {} по {} пользователем с id {}",
+                ids, start, end, userId);
+        return itemClient.getCalendar(userId, ids, start, end);
+    }
+
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) Long userId,
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) Long userId,
                                          @Validated({Create.class})
                                          @RequestBody ItemDto itemDto) {
         log.info("POST request: добавление предмета {} пользователем с id {}", itemDto, userId);
@@ -46,7 +80,7 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader(USER_ID_HEADER) Long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader(USER_ID_HEADER) Long userId,
                           @PathVariable ("itemId") long itemId,
                           @RequestBody ItemDto itemDto) {
         log.info("PATCH request: обновление предмета {} пользователем с id {}", itemDto, userId);
@@ -54,15 +88,17 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
                                               @RequestParam(defaultValue = "0", required = false) @Min(0) int from,
-                                              @RequestParam(defaultValue = "10", required = false) @Min(1) int size) {
-        log.info("GET request: поиск предметов по запросу {}", text);
-        return itemClient.searchItems(text,from,size);
+                                              @RequestParam(defaultValue = "10", required = false) @Min(1) int size,
+                                              @RequestParam(defaultValue = "NONE", required = false)
+                                              @Pattern(regexp = "(?i)NONE|RELEVANCE") String sort) {
+        log.info("GET request: поиск предметов по запросу {}, сортировка {}", text, sort);
+        return itemClient.searchItems(text, from, size, sort.toUpperCase());
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object>  addComment(@RequestHeader(USER_ID_HEADER) Long userId,
+    public Mono<ResponseEntity<Object>>  addComment(@RequestHeader(USER_ID_HEADER) Long userId,
                                  @PathVariable ("itemId") long itemId,
                                  @Validated({Create.class})
                                  @RequestBody CommentDto commentDTO) {
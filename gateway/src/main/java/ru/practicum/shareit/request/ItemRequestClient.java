@@ -2,14 +2,16 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.dto.ItemRequestDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,31 +19,35 @@ public class ItemRequestClient extends BaseClient {
 
     private static final String HOST = "${shareit-server.url}";
     private static final String API_PREFIX = "/requests";
+    private static final List<String> INVALIDATED_FAMILIES = List.of("/requests");
 
     @Autowired
-    public ItemRequestClient(@Value(HOST) String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value(HOST) String serverUrl, WebClient.Builder builder,
+                             GatewayResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                INVALIDATED_FAMILIES
         );
     }
 
-    public ResponseEntity<Object> create(long userId, ItemRequestDto itemRequestDto) {
+    public Mono<ResponseEntity<Object>> create(long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getById(long userId, long requestId) {
+    public Mono<ResponseEntity<Object>> getById(long userId, long requestId) {
         return get("/" + requestId, userId, null);
     }
 
-    public ResponseEntity<Object> getAllUserRequests(long userId, String[] sortBy) {
+    public Mono<ResponseEntity<Object>> getAllUserRequests(long userId, String[] sortBy) {
         Map<String, Object> parameters = Map.of("sortBy", sortBy);
         return get("?sortBy={sortBy}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size, String[] sortBy) {
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size, String[] sortBy) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size,
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.config.Create;
 import ru.practicum.shareit.dto.ItemRequestDto;
 
@@ -22,7 +23,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> create(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> create(@RequestHeader(USER_ID_HEADER) long userId,
                                          @Validated({Create.class})
                                          @RequestBody ItemRequestDto itemRequestDto) {
         log.info("POST request: добавление запроса на вещь {} пользователем с id {}", itemRequestDto, userId);
@@ -30,7 +31,7 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUserRequests(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getAllUserRequests(@RequestHeader(USER_ID_HEADER) long userId,
                                                      @RequestParam(defaultValue = "created;ASC",
                                                            required = false) String[] sortBy) {
         log.info("GET request: запрос списка заявок на предметы, пользователем id {} ", userId);
@@ -38,7 +39,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAll(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getAll(@RequestHeader(USER_ID_HEADER) long userId,
                                          @RequestParam(defaultValue = "0", required = false) @Min(0) int from,
                                          @RequestParam(defaultValue = "10", required = false) @Min(1) int size,
                                          @RequestParam(defaultValue = "created;ASC", required = false) String[] sortBy) {
@@ -48,7 +49,7 @@ public class ItemRequestController {
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> getById(@RequestHeader(USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getById(@RequestHeader(USER_ID_HEADER) long userId,
                                           @PathVariable long requestId) {
         log.info("GET request: запрос заявки на предмет {}, пользователем id {} ", requestId, userId);
         return itemRequestClient.getById(userId, requestId);
@@ -2,47 +2,54 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.dto.UserDto;
 
+import java.util.List;
+
 @Service
 public class UserClient extends BaseClient {
 
     private static final String HOST = "${shareit-server.url}";
     private static final String API_PREFIX = "/users";
+    private static final List<String> INVALIDATED_FAMILIES = List.of("/users", "/items", "/bookings", "/requests");
 
     @Autowired
-    public UserClient(@Value(HOST) String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value(HOST) String serverUrl, WebClient.Builder builder,
+                      GatewayResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .build(),
+                responseCache,
+                API_PREFIX,
+                INVALIDATED_FAMILIES
         );
     }
 
-    public ResponseEntity<Object> create(UserDto userDto) {
+    public Mono<ResponseEntity<Object>> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> getById(long userId) {
+    public Mono<ResponseEntity<Object>> getById(long userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
+    public Mono<ResponseEntity<Object>> getAllUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> update(long userId, UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(long userId, UserDto userDto) {
         return patch("/" + userId, userDto);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public Mono<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -8,15 +8,21 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.dto.IncomingBookingDto;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Map;
 
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 @WebMvcTest(BookingController.class)
 @AutoConfigureMockMvc
 class BookingControllerTest {
@@ -69,4 +75,20 @@ class BookingControllerTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().is(400));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET getById returns deferred server response and status 200 Ok")
+    void getByIdReturnsDeferredResponse() throws Exception {
+        when(bookingClient.getById(1L, 5L)).thenReturn(Mono.just(ResponseEntity.ok((Object) Map.of("id", 5))));
+
+        MvcResult result = mvc.perform(get("/bookings/5")
+                        .header(USER_ID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(5)));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaseClientTest {
+
+    private static final String BODY = "[{\"id\":1,\"status\":\"WAITING\"},{\"id\":2,\"status\":\"APPROVED\"}]";
+
+    private final GatewayResponseCache disabledCache =
+            new GatewayResponseCache(false, DataSize.ofKilobytes(1), Duration.ZERO, Duration.ofMinutes(10));
+
+    @Test
+    void relaysServerBodyAsRawBytesTest() {
+        BaseClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"1\"")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body(BODY)
+                .build());
+
+        ResponseEntity<Object> response = client.get("/bookings", 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("\"1\"", response.getHeaders().getETag());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+    }
+
+    @Test
+    void relaysErrorBodyWithStatusTest() {
+        BaseClient client = client(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"not found\"}")
+                .build());
+
+        ResponseEntity<Object> response = client.get("/bookings/5", 1L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"not found\"}", new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamsBodyLargerThanInMemoryLimitTest() throws IOException {
+        byte[] body = "x".repeat(1024 * 1024).getBytes(StandardCharsets.UTF_8);
+        BaseClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .body(Flux.range(0, 16).map(chunk -> DefaultDataBufferFactory.sharedInstance
+                        .wrap(Arrays.copyOfRange(body, chunk * body.length / 16, (chunk + 1) * body.length / 16))))
+                .build());
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/calendar", 1L, null).block();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertArrayEquals(body, output.toByteArray());
+    }
+
+    @Test
+    void streamsErrorBodyWithStatusTest() throws IOException {
+        BaseClient client = client(ClientResponse.create(HttpStatus.BAD_REQUEST)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"bad period\"}")
+                .build());
+
+        ResponseEntity<StreamingResponseBody> response = client.stream("/calendar", 1L, null).block();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("{\"error\":\"bad period\"}", output.toString(StandardCharsets.UTF_8));
+    }
+
+    private BaseClient client(ClientResponse response) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(response))
+                .build();
+        return new BaseClient(webClient, disabledCache, "/bookings", List.of("/bookings"));
+    }
+}
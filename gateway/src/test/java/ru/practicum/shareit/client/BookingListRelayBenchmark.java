@@ -0,0 +1,148 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares relaying a booking list as raw bytes with the former decode-to-Object and re-serialize path,
+ * from the WebClient response to the bytes MVC writes. Reports time and allocation per response.
+ * Run with {@code mvn -pl gateway test -Dtest=BookingListRelayBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class BookingListRelayBenchmark {
+
+    private static final int[] BOOKING_COUNTS = {100, 1_000, 10_000};
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter(objectMapper);
+    private final ByteArrayHttpMessageConverter bytesConverter = new ByteArrayHttpMessageConverter();
+    private final GatewayResponseCache disabledCache =
+            new GatewayResponseCache(false, DataSize.ofKilobytes(1), Duration.ZERO, Duration.ofMinutes(10));
+
+    @Test
+    void relayBookingListsTest() throws IOException {
+        System.out.printf("%-8s %-8s %12s %14s %16s%n", "bookings", "path", "body bytes", "us/response", "alloc bytes/resp");
+        for (int count : BOOKING_COUNTS) {
+            byte[] body = bookings(count);
+            WebClient webClient = webClient(body);
+            BaseClient client = new BaseClient(webClient, disabledCache, "/bookings", List.of("/bookings"));
+
+            assertEquals(body.length, relayBytes(client));
+            report(count, "object", body.length, measure(() -> relayObject(webClient)));
+            report(count, "bytes", body.length, measure(() -> relayBytes(client)));
+        }
+    }
+
+    private int relayObject(WebClient webClient) throws IOException {
+        ResponseEntity<Object> response = webClient.get().uri("/bookings").retrieve().toEntity(Object.class).block();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        jsonConverter.write(response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes().length;
+    }
+
+    private int relayBytes(BaseClient client) throws IOException {
+        ResponseEntity<Object> response = client.get("/bookings", 1L).block();
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        bytesConverter.write((byte[]) response.getBody(), MediaType.APPLICATION_JSON, output);
+        return output.getBodyAsBytes().length;
+    }
+
+    private long[] measure(Relay relay) throws IOException {
+        long sink = 0;
+        long warmUpEnd = System.nanoTime() + WARM_UP.toNanos();
+        while (System.nanoTime() < warmUpEnd) {
+            sink += relay.run();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long operations = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long end = start + MEASUREMENT.toNanos();
+        long now = start;
+        while (now < end) {
+            sink += relay.run();
+            operations++;
+            now = System.nanoTime();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        if (sink == 42) {
+            System.out.println();
+        }
+        return new long[] {(now - start) / operations, allocated / operations};
+    }
+
+    private void report(int count, String path, int bodyLength, long[] result) {
+        System.out.printf("%-8d %-8s %12d %14.1f %16d%n", count, path, bodyLength, result[0] / 1000.0, result[1]);
+    }
+
+    private WebClient webClient(byte[] body) {
+        ExchangeStrategies strategies = ExchangeStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+        return WebClient.builder()
+                .exchangeStrategies(strategies)
+                .exchangeFunction(request -> Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK, strategies)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(Flux.<DataBuffer>just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                        .build()))
+                .build();
+    }
+
+    private byte[] bookings(int count) throws IOException {
+        List<Map<String, Object>> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> booker = new LinkedHashMap<>();
+            booker.put("id", i % 50 + 1);
+            booker.put("name", "booker " + (i % 50 + 1));
+            booker.put("email", "booker" + (i % 50 + 1) + "@email.ru");
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i % 200 + 1);
+            item.put("name", "Дрель " + (i % 200 + 1));
+            item.put("description", "Аккумуляторная дрель с двумя батареями и кейсом");
+            item.put("available", true);
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", "2030-01-01T10:00:00");
+            booking.put("end", "2030-01-02T10:00:00");
+            booking.put("status", i % 3 == 0 ? "WAITING" : "APPROVED");
+            booking.put("booker", booker);
+            booking.put("item", item);
+            bookings.add(booking);
+        }
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @FunctionalInterface
+    private interface Relay {
+        int run() throws IOException;
+    }
+}
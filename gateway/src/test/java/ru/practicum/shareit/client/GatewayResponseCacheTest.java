@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+
+    private final GatewayResponseCache cache = new GatewayResponseCache(true, DataSize.ofKilobytes(1), Duration.ZERO, Duration.ofMinutes(10));
+
+    @Test
+    void storesOnlyResponsesTheServerMadeCacheableTest() {
+        long generation = cache.generation("/items");
+
+        cache.store("plain", "/items", generation, ResponseEntity.ok((Object) "body"));
+        cache.store("etag", "/items", generation, ResponseEntity.ok().eTag("\"1\"").body((Object) "body"));
+        cache.store("max-age", "/items", generation, ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(1))).body((Object) "body"));
+        cache.store("no-store", "/items", generation, ResponseEntity.ok().eTag("\"1\"")
+                .cacheControl(CacheControl.noStore()).body((Object) "body"));
+
+        assertNull(cache.get("plain"));
+        assertFalse(cache.get("etag").isFresh());
+        assertEquals("\"1\"", cache.get("etag").getETag());
+        assertTrue(cache.get("max-age").isFresh());
+        assertNull(cache.get("no-store"));
+    }
+
+    @Test
+    void revalidatedEntryKeepsBodyAndRefreshesExpiryTest() {
+        long generation = cache.generation("/items");
+        cache.store("etag", "/items", generation, ResponseEntity.ok().eTag("\"1\"").body((Object) "body"));
+        HttpHeaders notModified = new HttpHeaders();
+        notModified.setCacheControl(CacheControl.maxAge(Duration.ofMinutes(1)));
+
+        CachedResponse refreshed = cache.revalidated("etag", "/items", generation, cache.get("etag"), notModified);
+
+        assertTrue(refreshed.isFresh());
+        assertEquals("body", refreshed.toResponse().getBody());
+        assertTrue(cache.get("etag").isFresh());
+    }
+
+    @Test
+    void evictDropsFamilyAndSkipsInFlightResponsesTest() {
+        long generation = cache.generation("/items");
+        cache.store("/items 1 /3", "/items", generation, ResponseEntity.ok().eTag("\"1\"").body((Object) "item"));
+        cache.store("/users 1 /1", "/users", cache.generation("/users"),
+                ResponseEntity.ok().eTag("\"1\"").body((Object) "user"));
+
+        cache.evict(List.of("/items"));
+        cache.store("/items 1 /4", "/items", generation, ResponseEntity.ok().eTag("\"1\"").body((Object) "item"));
+
+        assertNull(cache.get("/items 1 /3"));
+        assertNull(cache.get("/items 1 /4"));
+        assertNotNull(cache.get("/users 1 /1"));
+    }
+
+    @Test
+    void keyIncludesUserAndSortedParametersTest() {
+        String key = GatewayResponseCache.key("/items", "/search?text={text}&sortBy={sortBy}", 1L,
+                Map.of("text", "дрель", "sortBy", new String[] {"id;ASC"}));
+
+        assertEquals("/items 1 /search?text={text}&sortBy={sortBy}&sortBy=[id;ASC]&text=дрель", key);
+        assertNotEquals(key, GatewayResponseCache.key("/items", "/search?text={text}&sortBy={sortBy}", 2L,
+                Map.of("text", "дрель", "sortBy", new String[] {"id;ASC"})));
+    }
+
+    @Test
+    void boundsCacheByBodyLengthTest() {
+        long generation = cache.generation("/bookings");
+        List<String> keys = List.of("first", "second", "third");
+
+        keys.forEach(key -> cache.store(key, "/bookings", generation,
+                ResponseEntity.ok().eTag("\"1\"").body((Object) new byte[400])));
+        cache.cleanUp();
+
+        assertEquals(2, keys.stream().filter(key -> cache.get(key) != null).count());
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.config;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends one request through each client to a stub server. The pool is limited to one connection,
+ * so a single keep-alive connection serving all of them shows the clients share the configured provider.
+ */
+@SpringBootTest(
+        properties = "shareit-server.client.max-connections=1",
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ServerClientConfigTest {
+
+    private static final String TOTAL_CONNECTIONS = "reactor.netty.connection.provider.total.connections";
+    private static final Set<Integer> CLIENT_PORTS = ConcurrentHashMap.newKeySet();
+    private static final HttpServer SERVER_STUB = startServerStub();
+
+    @Autowired
+    private UserClient userClient;
+    @Autowired
+    private ItemClient itemClient;
+    @Autowired
+    private BookingClient bookingClient;
+    @Autowired
+    private ItemRequestClient itemRequestClient;
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER_STUB.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopServerStub() {
+        SERVER_STUB.stop(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void clientsShareServerConnectionPoolTest() {
+        userClient.getAllUsers().block();
+        itemClient.getItems(1L, 0, 10, new String[] {"id;ASC"}).block();
+        bookingClient.getById(1L, 1L).block();
+        itemRequestClient.getById(1L, 1L).block();
+
+        assertThat(CLIENT_PORTS).hasSize(1);
+
+        ResponseEntity<Map> metrics = restTemplate.getForEntity("/actuator/metrics", Map.class);
+        assertThat((List<String>) metrics.getBody().get("names")).contains(TOTAL_CONNECTIONS);
+        ResponseEntity<Map> pool = restTemplate.getForEntity("/actuator/metrics/" + TOTAL_CONNECTIONS
+                + "?tag=name:" + ServerClientConfig.CONNECTION_POOL_NAME, Map.class);
+        assertThat(pool.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private static HttpServer startServerStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                CLIENT_PORTS.add(exchange.getRemoteAddress().getPort());
+                byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ItemController.class)
+@AutoConfigureMockMvc
+class ItemControllerTest {
+
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String CALENDAR = "[{\"itemId\":2,\"busy\":[]}]";
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private final LocalDateTime end = start.plusMonths(1);
+
+    @Test
+    @DisplayName("GET calendar relays the streamed server body and status 200 Ok")
+    void getCalendarStreamsServerBodyTest() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write(CALENDAR.getBytes(StandardCharsets.UTF_8));
+        when(itemClient.getCalendar(1L, List.of(2L), start, end))
+                .thenReturn(Mono.just(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body)));
+
+        MvcResult deferred = mvc.perform(get("/items/calendar")
+                        .header(USER_ID_HEADER, 1L)
+                        .queryParam("ids", "2")
+                        .queryParam("start", start.toString())
+                        .queryParam("end", end.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult streamed = mvc.perform(asyncDispatch(deferred))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(streamed))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(CALENDAR));
+    }
+
+    @Test
+    @DisplayName("GET calendar without user header status 400 Bad Request")
+    void getCalendarRequiresUserTest() throws Exception {
+        mvc.perform(get("/items/calendar")
+                        .queryParam("ids", "2")
+                        .queryParam("start", start.toString())
+                        .queryParam("end", end.toString()))
+                .andExpect(status().isBadRequest());
+        verify(itemClient, never()).getCalendar(anyLong(), any(), any(), any());
+    }
+}
@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Compares the default platform-thread pool with the virtual-threads profile under 5k concurrent
+# connections. Both runs use the same JDK 21 images, so the profile is the only difference.
+# The gateway response cache is switched off, so every request takes the blocking path through
+# the gateway and the server to the database instead of being answered from the cache.
+#
+# Peak thread counts come from a JDK 21 thread dump taken halfway through each run: jvm.threads.*
+# metrics count only platform threads, while the dump also lists the virtual threads.
+#
+# Requires docker compose, curl and wrk; raise the open file limit first (ulimit -n 65536).
+# Usage: load-test/virtual-threads.sh [connections] [duration-seconds]
+set -euo pipefail
+
+CONNECTIONS=${1:-5000}
+DURATION=${2:-60}
+THREADS=${WRK_THREADS:-8}
+GATEWAY=http://localhost:8080
+SERVER=http://localhost:9090
+RESULTS=${RESULTS_DIR:-load-test/results}
+
+cd "$(dirname "$0")/.."
+mkdir -p "$RESULTS"
+
+wait_for() {
+  for _ in $(seq 1 60); do
+    curl -fs "$1/actuator/health" > /dev/null && return 0
+    sleep 2
+  done
+  echo "$1 did not become healthy" >&2
+  return 1
+}
+
+# Sums threadCount over all thread containers of the dump: platform threads plus virtual threads.
+thread_count() {
+  docker exec "$1" jcmd 1 Thread.dump_to_file -format=json -overwrite /tmp/threads.json > /dev/null
+  docker exec "$1" cat /tmp/threads.json \
+      | grep -oE '"threadCount": *"?[0-9]+' | grep -oE '[0-9]+$' | awk '{ sum += $1 } END { print sum }'
+}
+
+run() {
+  local profile=$1
+  echo "== $profile =="
+  JAVA_VERSION=21 SHAREIT_PROFILES=$profile SHAREIT_SERVER_CACHE_ENABLED=false docker compose up -d --build
+  wait_for "$SERVER"
+  wait_for "$GATEWAY"
+
+  local user_id
+  user_id=$(curl -fs -H 'Content-Type: application/json' \
+      -d "{\"name\":\"load\",\"email\":\"load-$profile@example.com\"}" "$GATEWAY/users" \
+      | sed -E 's/.*"id":([0-9]+).*/\1/')
+  curl -fs -H 'Content-Type: application/json' -H "X-Sharer-User-Id: $user_id" \
+      -d '{"name":"Дрель","description":"Аккумуляторная дрель","available":true}' "$GATEWAY/items" > /dev/null
+
+  wrk -t"$THREADS" -c"$CONNECTIONS" -d"${DURATION}s" --latency -H "X-Sharer-User-Id: $user_id" \
+      "$GATEWAY/items?from=0&size=10" > "$RESULTS/$profile.txt" &
+  local wrk_pid=$!
+  sleep $((DURATION / 2))
+  local gateway_threads server_threads
+  gateway_threads=$(thread_count gateway_container)
+  server_threads=$(thread_count server_container)
+  wait "$wrk_pid"
+
+  {
+    echo "gateway threads $gateway_threads"
+    echo "server threads $server_threads"
+  } >> "$RESULTS/$profile.txt"
+  cat "$RESULTS/$profile.txt"
+
+  docker compose down -v
+}
+
+run default
+run virtual-threads
+
+echo "== p99 latency and threads under load (platform + virtual) =="
+for profile in default virtual-threads; do
+  echo "$profile: p99 $(awk '$1 == "99%" {print $2}' "$RESULTS/$profile.txt"), $(grep ' threads ' "$RESULTS/$profile.txt" | tr '\n' ' ')"
+done
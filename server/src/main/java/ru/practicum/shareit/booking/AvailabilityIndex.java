@@ -0,0 +1,134 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-JVM copy of item booking schedules. Bookings written by another instance only show up after
+ * the schedule expires, so a conflict reported here must be confirmed against the database.
+ */
+@Component
+public class AvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final Map<Long, CachedSchedule> schedules;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private long generation;
+
+    @Autowired
+    public AvailabilityIndex(BookingRepository bookingRepository,
+                             @Value("${shareit.availability.max-items:10000}") int maxItems,
+                             @Value("${shareit.availability.ttl:30s}") Duration ttl) {
+        this(bookingRepository, maxItems, ttl, System::nanoTime);
+    }
+
+    AvailabilityIndex(BookingRepository bookingRepository, int maxItems, Duration ttl, LongSupplier nanoClock) {
+        this.bookingRepository = bookingRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.schedules = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSchedule> eldest) {
+                return size() > maxItems;
+            }
+        };
+    }
+
+    public Optional<BookingSlot> findLast(long itemId, LocalDateTime now) {
+        return schedule(itemId).findLast(now);
+    }
+
+    public Optional<BookingSlot> findNext(long itemId, LocalDateTime now) {
+        return schedule(itemId).findNext(now);
+    }
+
+    public boolean hasConflict(long itemId, LocalDateTime start, LocalDateTime end) {
+        return schedule(itemId).hasConflict(start, end);
+    }
+
+    public void onBookingSaved(Booking booking) {
+        long itemId = booking.getItem().getId();
+        BookingSlot slot = new BookingSlot(booking.getId(), booking.getStart(), booking.getEnd(),
+                booking.getBooker().getId(), booking.getStatus());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(itemId, slot);
+                }
+            });
+        } else {
+            apply(itemId, slot);
+        }
+    }
+
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    private ItemSchedule schedule(long itemId) {
+        long loadedAt;
+        long now = nanoClock.getAsLong();
+        synchronized (schedules) {
+            CachedSchedule cached = schedules.get(itemId);
+            if (cached != null && now - cached.loadedAt < ttlNanos) {
+                return cached.schedule;
+            }
+            loadedAt = generation;
+        }
+        ItemSchedule schedule = new ItemSchedule(bookingRepository.findSlotsByItemId(itemId));
+        synchronized (schedules) {
+            if (generation == loadedAt) {
+                schedules.put(itemId, new CachedSchedule(schedule, now));
+            }
+        }
+        return schedule;
+    }
+
+    private void apply(long itemId, BookingSlot slot) {
+        synchronized (schedules) {
+            generation++;
+            CachedSchedule cached = schedules.get(itemId);
+            if (cached != null) {
+                schedules.put(itemId, new CachedSchedule(cached.schedule.with(slot), cached.loadedAt));
+            }
+        }
+    }
+
+    private void clear() {
+        synchronized (schedules) {
+            generation++;
+            schedules.clear();
+        }
+    }
+
+    private static final class CachedSchedule {
+        private final ItemSchedule schedule;
+        private final long loadedAt;
+
+        private CachedSchedule(ItemSchedule schedule, long loadedAt) {
+            this.schedule = schedule;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
 import ru.practicum.shareit.Status;
@@ -11,6 +13,21 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Table (name = "bookings")
+@NamedEntityGraph(name = "booking-with-item-and-booker",
+        attributeNodes = {
+                @NamedAttributeNode(value = "item", subgraph = "item-with-owner-and-request"),
+                @NamedAttributeNode("booker")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "item-with-owner-and-request",
+                        attributeNodes = {
+                                @NamedAttributeNode("owner"),
+                                @NamedAttributeNode(value = "request", subgraph = "request-with-requestor")
+                        }),
+                @NamedSubgraph(name = "request-with-requestor",
+                        attributeNodes = @NamedAttributeNode("requestor"))
+        })
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @ToString
@@ -30,17 +47,35 @@ public class Booking {
     @Column(name = "end_date_time", nullable = false)
     private LocalDateTime end;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
 
+    @JsonIgnore
+    @Column(name = "owner_id")
+    private Long ownerId;
+
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    @JsonIgnore
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @PrePersist
+    void fillOwnerId() {
+        if (ownerId == null && item != null && item.getOwner() != null) {
+            ownerId = item.getOwner().getId();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.converter.BookingConverter;
 import ru.practicum.shareit.dto.IncomingBookingDto;
 
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -13,6 +15,8 @@ import java.util.Collection;
 public class BookingController {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
 
     private final BookingService bookingService;
     private final BookingConverter bookingConverter;
@@ -37,20 +41,48 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public Collection<Booking> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
-                                             @RequestParam String state,
-                                             @RequestParam int from,
-                                             @RequestParam int size,
-                                             @RequestParam String[] sortBy) {
-        return bookingService.getAllByOwner(userId, state, from, size, sortBy);
+    public ResponseEntity<Collection<Booking>> getAllByOwner(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                             @RequestParam String state,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam int size,
+                                                             @RequestParam(defaultValue = "start;DESC") String[] sortBy,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "false") boolean withTotal) {
+        if (cursor != null) {
+            return withNextCursor(bookingService.getAllByOwner(userId, state, cursor, size), size);
+        }
+        Collection<Booking> bookings = bookingService.getAllByOwner(userId, state, from, size, sortBy);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (withTotal) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(bookingService.countAllByOwner(userId, state)));
+        }
+        return response.body(bookings);
     }
 
     @GetMapping
-    public Collection<Booking> getAllByBooker(@RequestHeader(USER_ID_HEADER) Long userId,
-                                              @RequestParam String state,
-                                              @RequestParam int from,
-                                              @RequestParam int size,
-                                              @RequestParam String[] sortBy) {
-        return bookingService.getAllByBooker(userId, state, from, size, sortBy);
+    public ResponseEntity<Collection<Booking>> getAllByBooker(@RequestHeader(USER_ID_HEADER) Long userId,
+                                                              @RequestParam String state,
+                                                              @RequestParam(defaultValue = "0") int from,
+                                                              @RequestParam int size,
+                                                              @RequestParam(defaultValue = "start;DESC") String[] sortBy,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "false") boolean withTotal) {
+        if (cursor != null) {
+            return withNextCursor(bookingService.getAllByBooker(userId, state, cursor, size), size);
+        }
+        Collection<Booking> bookings = bookingService.getAllByBooker(userId, state, from, size, sortBy);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (withTotal) {
+            response.header(TOTAL_COUNT_HEADER, String.valueOf(bookingService.countAllByBooker(userId, state)));
+        }
+        return response.body(bookings);
+    }
+
+    private ResponseEntity<Collection<Booking>> withNextCursor(List<Booking> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.State;
+import ru.practicum.shareit.Status;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Booking state as one set of bounds, so booker and owner listings share a single query per role:
+ * startAfter < start <= startUntil, endFrom <= end < endBefore, status in statuses.
+ * A null bound or status set leaves that side unrestricted, like the offset listings do.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingFilter {
+
+    private final Set<Status> statuses;
+    private final LocalDateTime startAfter;
+    private final LocalDateTime startUntil;
+    private final LocalDateTime endFrom;
+    private final LocalDateTime endBefore;
+
+    public static BookingFilter of(State state, LocalDateTime now) {
+        switch (state) {
+            case PAST:
+                return new BookingFilter(null, null, null, null, now);
+            case FUTURE:
+                return new BookingFilter(null, now, null, null, null);
+            case CURRENT:
+                return new BookingFilter(null, null, now, now, null);
+            case WAITING:
+                return new BookingFilter(EnumSet.of(Status.WAITING), null, null, null, null);
+            case REJECTED:
+                return new BookingFilter(EnumSet.of(Status.REJECTED), null, null, null, null);
+            default:
+                return new BookingFilter(null, null, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Booking listings driven by {@link BookingFilter}. Only the bounds a state sets become predicates,
+ * so the query is built per call instead of being declared with {@code @Query}.
+ */
+public interface BookingFilterRepository {
+
+    List<Booking> findByBookerSeek(Long bookerId, BookingFilter filter, BookingCursor cursor, Pageable pageable);
+
+    List<Booking> findByOwnerSeek(Long ownerId, BookingFilter filter, BookingCursor cursor, Pageable pageable);
+
+    long countByBooker(Long bookerId, BookingFilter filter);
+
+    long countByOwner(Long ownerId, BookingFilter filter);
+}
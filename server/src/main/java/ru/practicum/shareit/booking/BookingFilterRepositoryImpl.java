@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@RequiredArgsConstructor
+class BookingFilterRepositoryImpl implements BookingFilterRepository {
+
+    private static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+    private static final String BOOKING_GRAPH = "booking-with-item-and-booker";
+
+    private final EntityManager em;
+
+    @Override
+    public List<Booking> findByBookerSeek(Long bookerId, BookingFilter filter, BookingCursor cursor, Pageable pageable) {
+        return findSeek(booking -> booking.get("booker").get("id"), bookerId, filter, cursor, pageable);
+    }
+
+    @Override
+    public List<Booking> findByOwnerSeek(Long ownerId, BookingFilter filter, BookingCursor cursor, Pageable pageable) {
+        return findSeek(booking -> booking.get("ownerId"), ownerId, filter, cursor, pageable);
+    }
+
+    @Override
+    public long countByBooker(Long bookerId, BookingFilter filter) {
+        return count(booking -> booking.get("booker").get("id"), bookerId, filter);
+    }
+
+    @Override
+    public long countByOwner(Long ownerId, BookingFilter filter) {
+        return count(booking -> booking.get("ownerId"), ownerId, filter);
+    }
+
+    private List<Booking> findSeek(Function<Root<Booking>, Path<Long>> participant, Long userId, BookingFilter filter,
+                                   BookingCursor cursor, Pageable pageable) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        List<Predicate> predicates = where(cb, booking, participant.apply(booking), userId, filter);
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+        if (cursor.getStart() != null) {
+            predicates.add(cb.or(cb.lessThan(start, cursor.getStart()),
+                    cb.and(cb.equal(start, cursor.getStart()), cb.lessThan(id, cursor.getId()))));
+        }
+        query.select(booking)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return em.createQuery(query)
+                .setHint(FETCH_GRAPH, em.getEntityGraph(BOOKING_GRAPH))
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private long count(Function<Root<Booking>, Path<Long>> participant, Long userId, BookingFilter filter) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Booking> booking = query.from(Booking.class);
+        query.select(cb.count(booking))
+                .where(where(cb, booking, participant.apply(booking), userId, filter).toArray(Predicate[]::new));
+        return em.createQuery(query).getSingleResult();
+    }
+
+    private List<Predicate> where(CriteriaBuilder cb, Root<Booking> booking, Path<Long> participant, Long userId,
+                                  BookingFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(participant, userId));
+        if (filter.getStatuses() != null) {
+            predicates.add(booking.get("status").in(filter.getStatuses()));
+        }
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        if (filter.getStartAfter() != null) {
+            predicates.add(cb.greaterThan(start, filter.getStartAfter()));
+        }
+        if (filter.getStartUntil() != null) {
+            predicates.add(cb.lessThanOrEqualTo(start, filter.getStartUntil()));
+        }
+        if (filter.getEndFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(end, filter.getEndFrom()));
+        }
+        if (filter.getEndBefore() != null) {
+            predicates.add(cb.lessThan(end, filter.getEndBefore()));
+        }
+        return predicates;
+    }
+}
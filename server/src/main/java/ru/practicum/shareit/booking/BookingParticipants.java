@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingParticipants {
+    private final Long ownerId;
+    private final Long bookerId;
+}
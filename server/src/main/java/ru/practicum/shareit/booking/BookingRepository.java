@@ -1,45 +1,134 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.Status;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingFilterRepository {
+
+    PageRequest FIRST = PageRequest.of(0, 1);
+
+    @Override
+    @EntityGraph("booking-with-item-and-booker")
+    Optional<Booking> findById(Long bookingId);
+
+    @Query("select new ru.practicum.shareit.booking.BookingParticipants(booking.ownerId, booking.booker.id)" +
+            " from Booking booking where booking.id = ?1")
+    Optional<BookingParticipants> findParticipantsById(Long bookingId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking booking set booking.status = ?4, booking.version = booking.version + 1" +
+            " where booking.id = ?1 and booking.ownerId = ?2 and booking.status = ?3")
+    int updateStatusByOwner(Long bookingId, Long ownerId, Status expected, Status status);
+
+    @Query("select case when count(booking) > 0 then true else false end from Booking booking" +
+            " where booking.item.id = ?1 and booking.status in ?4" +
+            " and booking.start < ?3 and booking.end > ?2")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Collection<Status> statuses);
+
+    @Query("select new ru.practicum.shareit.booking.BookingSlot(booking.id, booking.start, booking.end," +
+            " booking.booker.id, booking.status)" +
+            " from Booking booking where booking.item.id = ?1 order by booking.start, booking.id")
+    List<BookingSlot> findSlotsByItemId(Long itemId);
+
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.FETCH_SIZE, value = "500"))
+    @Query("select new ru.practicum.shareit.booking.BusyInterval(booking.item.id, booking.ownerId, booking.id," +
+            " booking.start, booking.end, booking.status)" +
+            " from Booking booking where booking.item.id in ?1 and booking.status in ?4" +
+            " and booking.start < ?3 and booking.end > ?2" +
+            " order by booking.item.id, booking.start, booking.id")
+    Stream<BusyInterval> streamBusyIntervals(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end,
+                                             Collection<Status> statuses);
+
+    default Optional<Booking> findFirstByBookerIdAndItemIdAndStartIsBefore(Long bookerId, Long itemId,
+                                                                           LocalDateTime dateTime) {
+        return findByBookerIdAndItemIdAndStartIsBefore(bookerId, itemId, dateTime, FIRST).stream().findFirst();
+    }
+
+    default Optional<Booking> findFirstByItemIdAndStartIsAfterOrderByStartAsc(long itemId, LocalDateTime dateTime) {
+        return findByItemIdAndStartIsAfter(itemId, dateTime, FIRST.withSort(Sort.Direction.ASC, "start"))
+                .stream().findFirst();
+    }
+
+    default Optional<Booking> findFirstByItemIdAndEndIsBeforeOrderByEndDesc(long itemId, LocalDateTime dateTime) {
+        return findByItemIdAndEndIsBefore(itemId, dateTime, FIRST.withSort(Sort.Direction.DESC, "end"))
+                .stream().findFirst();
+    }
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+    @Query("select booking from Booking booking" +
+            " where booking.booker.id = ?1 and booking.item.id = ?2 and booking.start < ?3")
+    List<Booking> findByBookerIdAndItemIdAndStartIsBefore(Long bookerId, Long itemId, LocalDateTime dateTime,
+                                                         Pageable pageable);
+
+    @Query("select booking from Booking booking where booking.item.id = ?1 and booking.start > ?2")
+    List<Booking> findByItemIdAndStartIsAfter(long itemId, LocalDateTime dateTime, Pageable pageable);
 
-    Optional<Booking> findFirstByBookerIdAndItemIdAndStartIsBefore(Long bookerId, Long itemId, LocalDateTime dateTime);
+    @Query("select booking from Booking booking where booking.item.id = ?1 and booking.end < ?2")
+    List<Booking> findByItemIdAndEndIsBefore(long itemId, LocalDateTime dateTime, Pageable pageable);
 
-    Optional<Booking> findFirstByItemIdAndStartIsAfterOrderByStartAsc(long itemId, LocalDateTime dateTime);
+    @Query("select booking from Booking booking" +
+            " where booking.item.id in ?1" +
+            " and booking.end = (select max(lb.end) from Booking lb" +
+            " where lb.item.id = booking.item.id and lb.end < ?2)")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now);
 
-    Optional<Booking> findFirstByItemIdAndEndIsBeforeOrderByEndDesc(long itemId, LocalDateTime dateTime);
+    @Query("select booking from Booking booking" +
+            " where booking.item.id in ?1" +
+            " and booking.start = (select min(nb.start) from Booking nb" +
+            " where nb.item.id = booking.item.id and nb.start > ?2)")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now);
 
-    Page<Booking> findByBookerId(Long bookerId, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    @Query("select booking from Booking booking where booking.booker.id = ?1")
+    Slice<Booking> findByBookerId(Long bookerId, Pageable pageable);
 
+    @EntityGraph("booking-with-item-and-booker")
     @Query("select booking from Booking booking" +
             " where booking.booker.id = ?1" +
-            " and ?2 between booking.start and booking.end")
-    Page<Booking> findCurrentByBooker(Long bookerId, LocalDateTime now, Pageable pageable);
+            " and booking.start <= ?2 and booking.end >= ?2")
+    Slice<Booking> findCurrentByBooker(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    @Query("select booking from Booking booking where booking.booker.id = ?1 and booking.start > ?2")
+    Slice<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    @Query("select booking from Booking booking where booking.booker.id = ?1 and booking.end < ?2")
+    Slice<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStatusEquals(Long bookerId, Status status, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    @Query("select booking from Booking booking where booking.booker.id = ?1 and booking.status = ?2")
+    Slice<Booking> findByBookerIdAndStatusEquals(Long bookerId, Status status, Pageable pageable);
 
-    Page<Booking> findByItemOwnerId(Long ownerId, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    Slice<Booking> findByOwnerId(Long ownerId, Pageable pageable);
 
+    @EntityGraph("booking-with-item-and-booker")
     @Query("select booking from Booking booking" +
-            " where booking.item.owner.id = ?1" +
-            " and ?2 between booking.start and booking.end")
-    Page<Booking> findCurrentBookingsByOwner(Long ownerId, LocalDateTime now, Pageable pageable);
+            " where booking.ownerId = ?1" +
+            " and booking.start <= ?2 and booking.end >= ?2")
+    Slice<Booking> findCurrentBookingsByOwner(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    Slice<Booking> findByOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime now, Pageable pageable);
+    @EntityGraph("booking-with-item-and-booker")
+    Slice<Booking> findByOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    Page<Booking> findByItemOwnerIdAndStatusEquals(Long bookerId, Status status, Pageable pageable);
-}
\ No newline at end of file
+    @EntityGraph("booking-with-item-and-booker")
+    Slice<Booking> findByOwnerIdAndStatusEquals(Long bookerId, Status status, Pageable pageable);
+}
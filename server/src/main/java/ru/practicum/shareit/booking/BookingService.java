@@ -4,6 +4,7 @@ package ru.practicum.shareit.booking;
 import ru.practicum.shareit.dto.IncomingBookingDto;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
 
@@ -16,5 +17,13 @@ public interface BookingService {
     Collection<Booking> getAllByOwner(long userId, String state, int from, int size, String[] sortBy);
 
     Collection<Booking> getAllByBooker(long userId, String state, int from, int size, String[] sortBy);
+
+    List<Booking> getAllByOwner(long userId, String state, String cursor, int size);
+
+    List<Booking> getAllByBooker(long userId, String state, String cursor, int size);
+
+    long countAllByOwner(long userId, String state);
+
+    long countAllByBooker(long userId, String state);
 }
 
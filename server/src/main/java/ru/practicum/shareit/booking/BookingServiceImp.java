@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -16,10 +18,12 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.UserType.*;
@@ -29,23 +33,31 @@ import static ru.practicum.shareit.booking.UserType.*;
 @RequiredArgsConstructor
 public class BookingServiceImp implements BookingService {
 
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final String OVERLAP_CONSTRAINT = "EX_BOOKINGS_ITEM_PERIOD";
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
     private final BookingConverter bookingConverter;
+    private final AvailabilityIndex availabilityIndex;
 
     @Override
     @Transactional(readOnly = true)
     public Booking getById(Long bookingId, Long userId) {
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(
-                () -> new NotFoundException(String.format("Бронирование № %d не найдено", bookingId)));
-        if (getUserType(booking, userId) == OTHER_USER) {
-            throw new NotFoundException(String.format(
-                    "Пользователь № %d не является владельцем вещи или заказа", userId));
+        Booking booking = bookingRepository.findById(bookingId).orElse(null);
+        if (booking != null && getUserType(booking, userId) != OTHER_USER) {
+            return booking;
         }
-        return booking;
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+        if (booking == null) {
+            throw new NotFoundException(String.format("Бронирование № %d не найдено", bookingId));
+        }
+        throw new NotFoundException(String.format(
+                "Пользователь № %d не является владельцем вещи или заказа", userId));
     }
 
     @Override
@@ -53,7 +65,7 @@ public class BookingServiceImp implements BookingService {
     public Booking create(long userId, IncomingBookingDto bookingDto) {
         User user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
-        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(
+        Item item = itemRepository.findByIdForUpdate(bookingDto.getItemId()).orElseThrow(
                 () -> new NotFoundException(String.format("Предмет № %d не найден", bookingDto.getItemId())));
         isAvailable(item);
         checkBookingDates(bookingDto);
@@ -64,56 +76,78 @@ public class BookingServiceImp implements BookingService {
         }
         booking.setBooker(user);
         booking.setItem(item);
-        if (getUserType(booking, userId) == OWNER) {
+        booking.setOwnerId(item.getOwner().getId());
+        if (booking.getOwnerId().equals(userId)) {
             throw new NotFoundException("Пользователь не может бронировать свои предметы");
         }
-        return bookingRepository.save(booking);
+        String conflict = String.format("Предмет № %d уже забронирован на указанный период", item.getId());
+        if (availabilityIndex.hasConflict(item.getId(), booking.getStart(), booking.getEnd())
+                && bookingRepository.existsOverlapping(item.getId(), booking.getStart(), booking.getEnd(), ACTIVE_STATUSES)) {
+            throw new BookingConflictException(conflict);
+        }
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException exception) {
+            if (isOverlapViolation(exception)) {
+                throw new BookingConflictException(conflict);
+            }
+            throw exception;
+        }
+        availabilityIndex.onBookingSaved(savedBooking);
+        return savedBooking;
     }
 
     @Override
     @Transactional
     public Booking processRequest(Long userId, Long bookingId, boolean approval) {
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+        Status status = approval ? Status.APPROVED : Status.REJECTED;
+        boolean updated = bookingRepository.updateStatusByOwner(bookingId, userId, Status.WAITING, status) > 0;
+        if (!updated) {
+            BookingParticipants participants = bookingRepository.findParticipantsById(bookingId).orElseThrow(
+                    () -> new NotFoundException(String.format(
+                            "Бронирование № %d не найдено", bookingId)));
+            if (getUserType(participants, userId) != OWNER) {
+                throw new NotFoundException(String.format(
+                        "Пользователь № %d не является владельцем вещи", userId));
+            }
+        }
         Booking booking = bookingRepository.findById(bookingId).orElseThrow(
                 () -> new NotFoundException(String.format(
                         "Бронирование № %d не найдено", bookingId)));
-        if (getUserType(booking, userId) != OWNER) {
-            throw new NotFoundException(String.format(
-                         "Пользователь № %d не является владельцем вещи", userId));
+        if (!updated) {
+            checkBookingStatus(booking);
         }
-        checkBookingStatus(booking);
-        booking.setStatus(approval ? Status.APPROVED : Status.REJECTED);
-        return bookingRepository.save(booking);
+        availabilityIndex.onBookingSaved(booking);
+        return booking;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Collection<Booking> getAllByOwner(long userId, String state, int from, int size, String[] sortBy) {
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
-        State bookingState;
-        try {
-            bookingState = parseState(state);
-        } catch (Exception exception) {
-            throw new StateValidationException("Такого параметра не существует " + state);
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
         }
+        State bookingState = parseState(state);
         Sort sort = setSort(sortBy);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, sort);
         switch (bookingState) {
             case ALL:
-                return bookingRepository.findByItemOwnerId(userId, pageable).toList();
+                return bookingRepository.findByOwnerId(userId, pageable).toList();
             case PAST:
-                return bookingRepository.findByItemOwnerIdAndEndIsBefore(userId, LocalDateTime.now(), pageable).toList();
+                return bookingRepository.findByOwnerIdAndEndIsBefore(userId, LocalDateTime.now(), pageable).toList();
             case FUTURE:
-                return bookingRepository.findByItemOwnerIdAndStartIsAfter(userId, LocalDateTime.now(), pageable).toList();
+                return bookingRepository.findByOwnerIdAndStartIsAfter(userId, LocalDateTime.now(), pageable).toList();
             case CURRENT:
                 return bookingRepository.findCurrentBookingsByOwner(userId, LocalDateTime.now(), pageable).toList();
             case WAITING:
-                return bookingRepository.findByItemOwnerIdAndStatusEquals(userId, Status.WAITING, pageable).toList();
+                return bookingRepository.findByOwnerIdAndStatusEquals(userId, Status.WAITING, pageable).toList();
             case REJECTED:
-                return bookingRepository.findByItemOwnerIdAndStatusEquals(userId, Status.REJECTED, pageable).toList();
+                return bookingRepository.findByOwnerIdAndStatusEquals(userId, Status.REJECTED, pageable).toList();
         }
         return Collections.emptyList();
     }
@@ -121,17 +155,13 @@ public class BookingServiceImp implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public Collection<Booking> getAllByBooker(long userId, String state, int from, int size, String[] sortBy) {
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
         Sort sort = setSort(sortBy);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, sort);
-        State bookingState;
-        try {
-            bookingState = parseState(state);
-        } catch (Exception exception) {
-            throw new StateValidationException("Такого параметра не существует " + state);
-        }
+        State bookingState = parseState(state);
             switch (bookingState) {
                 case ALL:
                     return bookingRepository.findByBookerId(userId, pageable).toList();
@@ -149,6 +179,38 @@ public class BookingServiceImp implements BookingService {
         return Collections.emptyList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> getAllByOwner(long userId, String state, String cursor, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+        BookingFilter filter = BookingFilter.of(parseState(state), LocalDateTime.now());
+        return bookingRepository.findByOwnerSeek(userId, filter, BookingCursor.decode(cursor), PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Booking> getAllByBooker(long userId, String state, String cursor, int size) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+        BookingFilter filter = BookingFilter.of(parseState(state), LocalDateTime.now());
+        return bookingRepository.findByBookerSeek(userId, filter, BookingCursor.decode(cursor), PageRequest.of(0, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAllByOwner(long userId, String state) {
+        return bookingRepository.countByOwner(userId, BookingFilter.of(parseState(state), LocalDateTime.now()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAllByBooker(long userId, String state) {
+        return bookingRepository.countByBooker(userId, BookingFilter.of(parseState(state), LocalDateTime.now()));
+    }
+
     void isAvailable(Item item) {
         boolean isAvailable = item.getAvailable();
         if (!isAvailable) {
@@ -164,12 +226,14 @@ public class BookingServiceImp implements BookingService {
     }
 
     UserType getUserType(Booking booking, Long userId) {
-        Item item = itemRepository.findById(booking.getItem().getId()).orElseThrow(
-                () -> new NotFoundException(String.format("Предмет № %d не найден", booking.getItem().getId())));
-        if (userId.equals(item.getOwner().getId())) {
+        return getUserType(new BookingParticipants(booking.getOwnerId(), booking.getBooker().getId()), userId);
+    }
+
+    UserType getUserType(BookingParticipants participants, Long userId) {
+        if (userId.equals(participants.getOwnerId())) {
             return OWNER;
         }
-        if (userId.equals(booking.getBooker().getId())) {
+        if (userId.equals(participants.getBookerId())) {
             return BOOKER;
         }
         return OTHER_USER;
@@ -182,8 +246,25 @@ public class BookingServiceImp implements BookingService {
         }
     }
 
+    private boolean isOverlapViolation(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException
+                    && OVERLAP_CONSTRAINT.equalsIgnoreCase(((ConstraintViolationException) cause).getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private State parseState(String value) {
-        return State.valueOf(value);
+        try {
+            return State.valueOf(value);
+        } catch (Exception exception) {
+            throw new StateValidationException("Такого параметра не существует " + value);
+        }
     }
 
     private Sort setSort(String[] sortBy) {
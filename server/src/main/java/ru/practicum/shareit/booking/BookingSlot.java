@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingSlot {
+    private final Long id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Long bookerId;
+    private final Status status;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.Status;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BusyInterval {
+    private final Long itemId;
+    private final Long ownerId;
+    private final Long bookingId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Status status;
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.Status;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+class ItemSchedule {
+
+    private final List<BookingSlot> slots;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxActiveEnds;
+    private final long[] sortedEnds;
+    private final int[] endOrder;
+
+    ItemSchedule(Collection<BookingSlot> bookings) {
+        slots = new ArrayList<>(bookings);
+        slots.sort(Comparator.comparing(BookingSlot::getStart).thenComparing(BookingSlot::getId));
+        int size = slots.size();
+        starts = new long[size];
+        ends = new long[size];
+        maxActiveEnds = new long[size];
+        long maxActiveEnd = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            BookingSlot slot = slots.get(i);
+            starts[i] = toNanos(slot.getStart());
+            ends[i] = toNanos(slot.getEnd());
+            if (isActive(slot)) {
+                maxActiveEnd = Math.max(maxActiveEnd, ends[i]);
+            }
+            maxActiveEnds[i] = maxActiveEnd;
+        }
+        endOrder = new int[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> ends[i]));
+        sortedEnds = new long[size];
+        for (int i = 0; i < size; i++) {
+            endOrder[i] = order[i];
+            sortedEnds[i] = ends[order[i]];
+        }
+    }
+
+    ItemSchedule with(BookingSlot slot) {
+        List<BookingSlot> updated = new ArrayList<>(slots.size() + 1);
+        for (BookingSlot existing : slots) {
+            if (!existing.getId().equals(slot.getId())) {
+                updated.add(existing);
+            }
+        }
+        updated.add(slot);
+        return new ItemSchedule(updated);
+    }
+
+    Optional<BookingSlot> findLast(LocalDateTime now) {
+        int index = lowerBound(sortedEnds, toNanos(now)) - 1;
+        return index < 0 ? Optional.empty() : Optional.of(slots.get(endOrder[index]));
+    }
+
+    Optional<BookingSlot> findNext(LocalDateTime now) {
+        int index = upperBound(starts, toNanos(now));
+        return index == starts.length ? Optional.empty() : Optional.of(slots.get(index));
+    }
+
+    boolean hasConflict(LocalDateTime start, LocalDateTime end) {
+        long from = toNanos(start);
+        for (int i = lowerBound(starts, toNanos(end)) - 1; i >= 0 && maxActiveEnds[i] > from; i--) {
+            if (ends[i] > from && isActive(slots.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isActive(BookingSlot slot) {
+        return slot.getStatus() == Status.WAITING || slot.getStatus() == Status.APPROVED;
+    }
+
+    private static long toNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + dateTime.getNano();
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
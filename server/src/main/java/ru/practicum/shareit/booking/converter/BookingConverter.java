@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.converter;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.Status;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingSlot;
 import ru.practicum.shareit.dto.BookingDto;
 import ru.practicum.shareit.dto.IncomingBookingDto;
 
@@ -18,6 +19,15 @@ public class BookingConverter {
                 .build();
     }
 
+    public BookingDto convert(BookingSlot slot) {
+        return BookingDto.builder()
+                .id(slot.getId())
+                .start(slot.getStart())
+                .end(slot.getEnd())
+                .bookerId(slot.getBookerId())
+                .build();
+    }
+
     public IncomingBookingDto convertToIncomingDto(Booking booking) {
         return IncomingBookingDto.builder()
                 .id(booking.getId())
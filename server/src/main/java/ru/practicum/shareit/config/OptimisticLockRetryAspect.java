@@ -0,0 +1,68 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wraps {@link RetryOnOptimisticLock} methods outside the transaction interceptor, so every attempt
+ * re-reads the entity in its own transaction. Calls joining an outer transaction are not retried,
+ * the owner of that transaction gets the conflict.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class OptimisticLockRetryAspect {
+
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticLockRetryAspect(@Value("${shareit.optimistic-lock.max-attempts:3}") int maxAttempts,
+                                     @Value("${shareit.optimistic-lock.backoff:20ms}") Duration backoff) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    @Around("@annotation(ru.practicum.shareit.config.RetryOnOptimisticLock)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException exception) {
+                if (attempt >= maxAttempts) {
+                    throw exception;
+                }
+                log.info("Конфликт версий в {}, попытка {} из {}",
+                        joinPoint.getSignature().toShortString(), attempt, maxAttempts);
+                pause(attempt, exception);
+            }
+        }
+    }
+
+    private void pause(int attempt, OptimisticLockingFailureException conflict) {
+        long millis = backoff.toMillis() * attempt;
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(millis / 2, millis + 1));
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
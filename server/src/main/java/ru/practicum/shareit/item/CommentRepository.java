@@ -1,9 +1,14 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Collection;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("comment-with-author")
     Collection<Comment> findAllByItemId(Long itemId);
+
+    @EntityGraph("comment-with-author")
+    Collection<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
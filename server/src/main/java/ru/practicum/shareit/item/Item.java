@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.requests.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -10,6 +14,9 @@ import javax.validation.constraints.Size;
 import java.util.Objects;
 
 @Table(name = "items")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
 @Builder(toBuilder = true)
 @Getter
@@ -27,7 +34,8 @@ public class Item {
     @Column(nullable = false)
     private String name;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
 
@@ -38,10 +46,16 @@ public class Item {
     @Column(nullable = false)
     private String description;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "request_id")
     ItemRequest request;
 
+    @JsonIgnore
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
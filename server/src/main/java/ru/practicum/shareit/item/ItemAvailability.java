@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ItemAvailability {
+    private final Long itemId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final Boolean available;
+}
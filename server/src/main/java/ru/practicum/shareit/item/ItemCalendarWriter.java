@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import ru.practicum.shareit.booking.BusyInterval;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Writes intervals ordered by item id as {@code [{"itemId":..,"busy":[..]}, ..]},
+ * emitting an empty entry for every requested item without bookings.
+ * Booking id and status are written only for the viewer's own items; others get the busy period alone.
+ */
+class ItemCalendarWriter implements Consumer<BusyInterval> {
+
+    private final JsonGenerator generator;
+    private final Iterator<Long> pending;
+    private final Long viewerId;
+    private boolean started;
+    private Long current;
+
+    ItemCalendarWriter(JsonGenerator generator, Collection<Long> sortedItemIds, Long viewerId) {
+        this.generator = generator;
+        this.pending = sortedItemIds.iterator();
+        this.viewerId = viewerId;
+    }
+
+    @Override
+    public void accept(BusyInterval interval) {
+        try {
+            start();
+            if (!interval.getItemId().equals(current)) {
+                closeCurrent();
+                openUntil(interval.getItemId());
+            }
+            boolean owner = viewerId.equals(interval.getOwnerId());
+            generator.writeStartObject();
+            if (owner) {
+                generator.writeNumberField("bookingId", interval.getBookingId());
+            }
+            generator.writeObjectField("start", interval.getStart());
+            generator.writeObjectField("end", interval.getEnd());
+            if (owner) {
+                generator.writeObjectField("status", interval.getStatus());
+            }
+            generator.writeEndObject();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    void finish() throws IOException {
+        start();
+        closeCurrent();
+        openUntil(null);
+        generator.writeEndArray();
+    }
+
+    private void start() throws IOException {
+        if (!started) {
+            generator.writeStartArray();
+            started = true;
+        }
+    }
+
+    private void openUntil(Long itemId) throws IOException {
+        while (pending.hasNext()) {
+            Long next = pending.next();
+            generator.writeStartObject();
+            generator.writeNumberField("itemId", next);
+            generator.writeArrayFieldStart("busy");
+            if (next.equals(itemId)) {
+                current = next;
+                return;
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private void closeCurrent() throws IOException {
+        if (current != null) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+            current = null;
+        }
+    }
+}
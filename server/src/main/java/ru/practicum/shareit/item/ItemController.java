@@ -1,14 +1,24 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.converter.CommentConverter;
 import ru.practicum.shareit.item.converter.ItemConverter;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
 
 @RestController
 @RequiredArgsConstructor
@@ -16,10 +26,12 @@ import java.util.stream.Collectors;
 public class ItemController {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_CALENDAR_ITEMS = 100;
 
     private final CommentConverter commentConverter;
     private final ItemConverter itemConverter;
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public Collection<ItemWithBookings> get(@RequestHeader(USER_ID_HEADER) long userId,
@@ -35,6 +47,46 @@ public class ItemController {
         return itemService.getById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailability getAvailability(@RequestHeader(USER_ID_HEADER) long userId,
+                                            @PathVariable("itemId") long itemId,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                            LocalDateTime start,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                            LocalDateTime end) {
+        return itemService.getAvailability(userId, itemId, start, end);
+    }
+
+    @GetMapping("/calendar")
+    public ResponseEntity<StreamingResponseBody> getCalendar(@RequestHeader(USER_ID_HEADER) long userId,
+                                                             @RequestParam Collection<Long> ids,
+                                                             @RequestParam
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                             LocalDateTime start,
+                                                             @RequestParam
+                                                             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                             LocalDateTime end,
+                                                             HttpServletRequest request) {
+        TreeSet<Long> itemIds = new TreeSet<>(ids);
+        if (itemIds.isEmpty() || itemIds.size() > MAX_CALENDAR_ITEMS) {
+            throw new ValidationException(String.format(
+                    "Календарь запрашивается для 1-%d предметов, передано %d", MAX_CALENDAR_ITEMS, itemIds.size()));
+        }
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Дата окончания периода должна быть позже даты начала периода.");
+        }
+        itemService.checkUserExists(userId);
+        ShallowEtagHeaderFilter.disableContentCaching(request);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                ItemCalendarWriter writer = new ItemCalendarWriter(generator, itemIds, userId);
+                itemService.streamCalendar(itemIds, start, end, writer);
+                writer.finish();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @PostMapping
     public ItemDto create(@RequestHeader(USER_ID_HEADER) Long userId,
                           @RequestBody ItemDto itemDto) {
@@ -51,10 +103,9 @@ public class ItemController {
     @GetMapping("/search")
     public Collection<ItemDto> searchItems(@RequestParam String text,
                                            @RequestParam int from,
-                                           @RequestParam int size) {
-        return itemService.searchItems(text,from,size).stream()
-                .map(itemConverter::convert)
-                .collect(Collectors.toList());
+                                           @RequestParam int size,
+                                           @RequestParam(defaultValue = "NONE") SearchSort sort) {
+        return itemService.searchItems(text, from, size, sort);
     }
 
     @PostMapping("/{itemId}/comment")
@@ -63,4 +114,4 @@ public class ItemController {
                                  @RequestBody CommentDto commentDTO) {
         return commentConverter.convert(itemService.addComment(commentDTO, userId, itemId));
     }
-}
\ No newline at end of file
+}
@@ -1,22 +1,61 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.dto.ItemDto;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query("select item from Item item" +
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select item from Item item where item.id = ?1")
+    Optional<Item> findByIdForUpdate(Long itemId);
+
+    @Query("select new ru.practicum.shareit.dto.ItemDto(item.id, item.name, item.description," +
+            " item.available, request.id)" +
+            " from Item item left join item.request request" +
             " where item.available = true " +
             " and (lower(item.name) like ?1" +
             " or lower(item.description) like ?1)")
-    Page<Item> searchItems(String text, Pageable pageable);
+    Slice<ItemDto> searchItems(String text, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.dto.ItemDto(item.id, item.name, item.description," +
+            " item.available, request.id)" +
+            " from Item item left join item.request request" +
+            " where item.id in ?1")
+    List<ItemDto> findItemDtosByIdIn(Collection<Long> itemIds);
+
+    @Query(value = "select i.* from items i" +
+            " where i.available = true" +
+            " and (i.search_vector @@ to_tsquery('simple', ?1)" +
+            " or lower(i.name) like ?2" +
+            " or lower(i.description) like ?2)" +
+            " order by ts_rank(i.search_vector, to_tsquery('simple', ?1)) desc," +
+            " similarity(lower(i.name), ?3) desc, i.item_id",
+            nativeQuery = true)
+    List<Item> searchItemsByRelevance(String tsQuery, String pattern, String text, Pageable pageable);
 
-    Page<Item> findAllByOwnerId(long userId, Pageable pageable);
+    @Query("select item.id from Item item left join item.request request" +
+            " where item.owner.id = ?1 or request.requestor.id = ?1")
+    List<Long> findIdsCascadedFromUser(long userId);
+
+    Slice<Item> findAllBy(Pageable pageable);
+
+    Slice<Item> findAllByOwnerId(long userId, Pageable pageable);
 
     Collection<Item> findAllByRequestId(long requestId);
+
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    Collection<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
 
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.dto.ItemDto;
+import ru.practicum.shareit.item.converter.ItemConverter;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final ItemConverter itemConverter;
+    private final ItemSearchIndex itemSearchIndex;
+    private final boolean fullTextEnabled;
+
+    public ItemSearchEngine(ItemRepository itemRepository,
+                            ItemConverter itemConverter,
+                            ItemSearchIndex itemSearchIndex,
+                            @Value("${shareit.search.full-text:false}") boolean fullTextEnabled) {
+        this.itemRepository = itemRepository;
+        this.itemConverter = itemConverter;
+        this.itemSearchIndex = itemSearchIndex;
+        this.fullTextEnabled = fullTextEnabled;
+    }
+
+    public List<ItemDto> search(String text, int from, int size, SearchSort sort) {
+        String pattern = "%" + text.toLowerCase() + "%";
+        Pageable pageable = PageRequest.of(from / size, size);
+        if (sort != SearchSort.RELEVANCE || !fullTextEnabled) {
+            if (itemSearchIndex.isReady() && ItemSearchIndex.tokenize(text).length > 0) {
+                return searchIndexed(text, from, size);
+            }
+            return itemRepository.searchItems(pattern, pageable).toList();
+        }
+        String query = toTsQuery(text);
+        if (query.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return itemRepository.searchItemsByRelevance(query, pattern, text.toLowerCase(), pageable).stream()
+                .map(itemConverter::convert)
+                .collect(Collectors.toList());
+    }
+
+    private List<ItemDto> searchIndexed(String text, int from, int size) {
+        long[] ids = itemSearchIndex.search(text, from, size);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        Map<Long, ItemDto> items = itemRepository.findItemDtosByIdIn(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    static String toTsQuery(String text) {
+        return Arrays.stream(ItemSearchIndex.tokenize(text))
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
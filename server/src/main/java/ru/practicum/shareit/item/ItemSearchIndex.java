@@ -0,0 +1,300 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ItemSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] EMPTY = new long[0];
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, long[]> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Set<Long> unavailable = new HashSet<>();
+    private final Set<Long> removedDuringBuild = new HashSet<>();
+    private volatile boolean ready;
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.search.index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public static String[] tokenize(String text) {
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase())
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        CompletableFuture.runAsync(this::build)
+                .exceptionally(e -> {
+                    log.warn("Не удалось построить поисковый индекс предметов, поиск выполняется в базе данных", e);
+                    return null;
+                });
+    }
+
+    void build() {
+        Slice<Item> items = itemRepository.findAllBy(PageRequest.of(0, BATCH_SIZE, Sort.by("id")));
+        while (true) {
+            items.forEach(item -> put(item.getId(), item.getName(), item.getDescription(), item.getAvailable(), false));
+            if (!items.hasNext()) {
+                break;
+            }
+            items = itemRepository.findAllBy(items.nextPageable());
+        }
+        lock.writeLock().lock();
+        try {
+            removedDuringBuild.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс предметов построен: {} предметов, {} суффиксов токенов", documents.size(), postings.size());
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        Long id = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        Boolean available = item.getAvailable();
+        afterCommit(() -> put(id, name, description, available, true));
+    }
+
+    /**
+     * Drops items deleted in the current transaction once it commits.
+     */
+    public void remove(Collection<Long> itemIds) {
+        if (!enabled || itemIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(itemIds);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                ids.forEach(this::removeDocument);
+                if (!ready) {
+                    removedDuringBuild.addAll(ids);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Same matches as {@code lower(name) like %text% or lower(description) like %text%}: every term of the
+     * text lies inside one token of a matching item, so it is a prefix of one of the indexed token suffixes.
+     * The suffixes starting with each term give the candidates, which are then checked against the whole text.
+     */
+    public long[] search(String text, int from, int size) {
+        String[] terms = tokenize(text);
+        if (terms.length == 0) {
+            return EMPTY;
+        }
+        String pattern = text.toLowerCase();
+        lock.readLock().lock();
+        try {
+            long[] matches = null;
+            for (String term : terms) {
+                long[] termMatches = substringMatches(term);
+                matches = matches == null ? termMatches : intersect(matches, termMatches);
+                if (matches.length == 0) {
+                    return EMPTY;
+                }
+            }
+            return page(matches, pattern, from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(Long id, String name, String description, Boolean available, boolean replace) {
+        Document document = new Document(name, description);
+        lock.writeLock().lock();
+        try {
+            if (!replace && (documents.containsKey(id) || removedDuringBuild.contains(id))) {
+                return;
+            }
+            removeDocument(id);
+            for (String suffix : document.suffixes) {
+                addPosting(suffix, id);
+            }
+            documents.put(id, document);
+            if (Boolean.TRUE.equals(available)) {
+                unavailable.remove(id);
+            } else {
+                unavailable.add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(Long id) {
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            for (String suffix : previous.suffixes) {
+                removePosting(suffix, id);
+            }
+        }
+        unavailable.remove(id);
+    }
+
+    private void addPosting(String token, long id) {
+        long[] ids = postings.getOrDefault(token, EMPTY);
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        postings.put(token, updated);
+    }
+
+    private void removePosting(String token, long id) {
+        long[] ids = postings.get(token);
+        if (ids == null) {
+            return;
+        }
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        if (ids.length == 1) {
+            postings.remove(token);
+            return;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, position);
+        System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+        postings.put(token, updated);
+    }
+
+    private long[] substringMatches(String term) {
+        Collection<long[]> lists = postings.subMap(term, true, term + Character.MAX_VALUE, false).values();
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.iterator().next();
+        }
+        return lists.stream()
+                .flatMapToLong(LongStream::of)
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private long[] page(long[] matches, String pattern, int from, int size) {
+        long[] result = new long[Math.min(size, matches.length)];
+        int skipped = 0;
+        int count = 0;
+        for (long id : matches) {
+            if (count == result.length) {
+                break;
+            }
+            if (unavailable.contains(id) || !documents.get(id).contains(pattern)) {
+                continue;
+            }
+            if (skipped < from) {
+                skipped++;
+                continue;
+            }
+            result[count++] = id;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static final class Document {
+        private final String name;
+        private final String description;
+        private final String[] suffixes;
+
+        private Document(String name, String description) {
+            this.name = name == null ? "" : name.toLowerCase();
+            this.description = description == null ? "" : description.toLowerCase();
+            this.suffixes = Arrays.stream(tokenize(Stream.of(name, description)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.joining(" "))))
+                    .flatMap(token -> IntStream.range(0, token.length()).mapToObj(token::substring))
+                    .distinct()
+                    .toArray(String[]::new);
+        }
+
+        private boolean contains(String pattern) {
+            return name.contains(pattern) || description.contains(pattern);
+        }
+    }
+}
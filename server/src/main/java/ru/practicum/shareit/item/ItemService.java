@@ -1,9 +1,12 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.BusyInterval;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 public interface ItemService {
 
@@ -17,7 +20,14 @@ public interface ItemService {
 
     Item getById(Long itemId);
 
-    Collection<Item> searchItems(String text, int from, int size);
+    Collection<ItemDto> searchItems(String text, int from, int size, SearchSort sort);
+
+    ItemAvailability getAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end);
+
+    void checkUserExists(Long userId);
+
+    void streamCalendar(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end,
+                        Consumer<BusyInterval> consumer);
 
     Comment addComment(CommentDto commentDTO, Long userId, Long itemId);
 }
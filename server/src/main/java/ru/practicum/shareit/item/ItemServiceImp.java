@@ -6,9 +6,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.Status;
+import ru.practicum.shareit.booking.AvailabilityIndex;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BusyInterval;
 import ru.practicum.shareit.booking.converter.BookingConverter;
+import ru.practicum.shareit.config.RetryOnOptimisticLock;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
@@ -22,12 +26,16 @@ import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImp implements ItemService {
 
+    private static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
     private final ItemConverter itemConverter;
     private final CommentConverter commentConverter;
     private final BookingConverter bookingConverter;
@@ -36,12 +44,17 @@ public class ItemServiceImp implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemSearchIndex itemSearchIndex;
+    private final AvailabilityIndex availabilityIndex;
 
     @Override
     @Transactional
     public Item create(Long userId, ItemDto itemDto) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+        User user = userRepository.getReferenceById(userId);
         Item item = itemConverter.convert(itemDto);
         if (item == null) {
             throw new NotFoundException("Отсутствуют параметры входящего объекта itemDto");
@@ -52,11 +65,14 @@ public class ItemServiceImp implements ItemService {
                     .orElseThrow(() -> new NotFoundException(String.format("Запрос на предмеь № %d не найден", itemDto.getRequestId())));
             item.setRequest(itemRequest);
         }
-        return itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        return savedItem;
     }
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public Item update(Long userId, Long itemId, ItemDto itemDto) {
         Item item = getById(itemId);
         if (!Objects.equals(item.getOwner().getId(), userId)) {
@@ -71,7 +87,9 @@ public class ItemServiceImp implements ItemService {
         if (itemDto.getAvailable() != null) {
             item.setAvailable(itemDto.getAvailable());
         }
-        return itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        return savedItem;
     }
 
     @Override
@@ -80,12 +98,31 @@ public class ItemServiceImp implements ItemService {
         Sort sort = setSort(sortBy);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, sort);
-        Collection<ItemWithBookings> items = itemRepository.findAllByOwnerId(userId, pageable).toList().stream()
+        List<ItemWithBookings> items = itemRepository.findAllByOwnerId(userId, pageable).toList().stream()
                 .map(itemConverter::convertToItemWithBookings)
                 .collect(Collectors.toList());
+        if (items.isEmpty()) {
+            return items;
+        }
+        List<Long> itemIds = items.stream()
+                .map(ItemWithBookings::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Booking> lastBookings = groupByItemId(bookingRepository.findLastBookingsByItemIds(itemIds, now));
+        Map<Long, Booking> nextBookings = groupByItemId(bookingRepository.findNextBookingsByItemIds(itemIds, now));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentConverter::convert, Collectors.toList())));
         for (ItemWithBookings item : items) {
-            setBookingsToItem(item);
-            setCommentsToItem(item);
+            Booking lastBooking = lastBookings.get(item.getId());
+            if (lastBooking != null) {
+                item.setLastBooking(bookingConverter.convert(lastBooking));
+            }
+            Booking nextBooking = nextBookings.get(item.getId());
+            if (nextBooking != null) {
+                item.setNextBooking(bookingConverter.convert(nextBooking));
+            }
+            item.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
         }
         return items;
     }
@@ -115,13 +152,47 @@ public class ItemServiceImp implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<Item> searchItems(String text, int from, int size) {
+    public Collection<ItemDto> searchItems(String text, int from, int size, SearchSort sort) {
         if (text.isBlank()) {
             return new ArrayList<>();
         }
-        int page = from / size;
-        Pageable pageable = PageRequest.of(page, size);
-        return itemRepository.searchItems("%" + text.toLowerCase() + "%", pageable).toList();
+        return itemSearchEngine.search(text, from, size, sort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemAvailability getAvailability(Long userId, Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Дата окончания периода должна быть позже даты начала периода.");
+        }
+        checkUserExists(userId);
+        Item item = getById(itemId);
+        boolean available = item.getAvailable() && !(availabilityIndex.hasConflict(itemId, start, end)
+                && bookingRepository.existsOverlapping(itemId, start, end, ACTIVE_STATUSES));
+        return new ItemAvailability(itemId, start, end, available);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkUserExists(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCalendar(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end,
+                               Consumer<BusyInterval> consumer) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Дата окончания периода должна быть позже даты начала периода.");
+        }
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        try (Stream<BusyInterval> intervals = bookingRepository.streamBusyIntervals(itemIds, start, end, ACTIVE_STATUSES)) {
+            intervals.forEach(consumer);
+        }
     }
 
     @Override
@@ -144,12 +215,11 @@ public class ItemServiceImp implements ItemService {
     }
 
     private void setBookingsToItem(ItemWithBookings item) {
-        Optional<Booking> lastBooking = bookingRepository
-                .findFirstByItemIdAndEndIsBeforeOrderByEndDesc(item.getId(), LocalDateTime.now());
-        Optional<Booking> nextBooking = bookingRepository
-                .findFirstByItemIdAndStartIsAfterOrderByStartAsc(item.getId(), LocalDateTime.now());
-        lastBooking.ifPresent(booking -> item.setLastBooking(bookingConverter.convert(booking)));
-        nextBooking.ifPresent(booking -> item.setNextBooking(bookingConverter.convert(booking)));
+        LocalDateTime now = LocalDateTime.now();
+        availabilityIndex.findLast(item.getId(), now)
+                .ifPresent(slot -> item.setLastBooking(bookingConverter.convert(slot)));
+        availabilityIndex.findNext(item.getId(), now)
+                .ifPresent(slot -> item.setNextBooking(bookingConverter.convert(slot)));
     }
 
     private void setCommentsToItem(ItemWithBookings item) {
@@ -163,6 +233,12 @@ public class ItemServiceImp implements ItemService {
         }
     }
 
+    private Map<Long, Booking> groupByItemId(Collection<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(), booking -> booking,
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
+
     private Sort setSort(String[] sortBy) {
         return Sort.by(
                 Arrays.stream(sortBy)
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.requests;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
 import ru.practicum.shareit.user.User;
@@ -11,6 +12,7 @@ import java.util.Objects;
 
 
 @Table(name = "item_requests")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @ToString
@@ -28,7 +30,8 @@ public class ItemRequest {
     @Size(max = 4000)
     private String description;
 
-    @ManyToOne
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requester_id")
     private User requestor;
 
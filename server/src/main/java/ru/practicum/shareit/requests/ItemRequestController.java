@@ -6,7 +6,6 @@ import ru.practicum.shareit.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.converter.RequestConverter;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,9 +26,7 @@ public class ItemRequestController {
     @GetMapping
     public List<ItemRequestDto> getAllUserRequests(@RequestHeader(USER_ID_HEADER) long userId,
                                                    @RequestParam String[] sortBy) {
-        return itemRequestService.getAllUserRequests(userId, sortBy).stream()
-                .map(requestConverter::convert)
-                .collect(Collectors.toList());
+        return requestConverter.convertAll(itemRequestService.getAllUserRequests(userId, sortBy));
     }
 
     @GetMapping("/all")
@@ -37,9 +34,7 @@ public class ItemRequestController {
                                 @RequestParam int from,
                                 @RequestParam int size,
                                 @RequestParam String[] sortBy) {
-        return itemRequestService.getAll(userId, from, size, sortBy).stream()
-                .map(requestConverter::convert)
-                .collect(Collectors.toList());
+        return requestConverter.convertAll(itemRequestService.getAll(userId, from, size, sortBy));
     }
 
     @GetMapping("{requestId}")
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.requests;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -8,4 +10,6 @@ import java.util.Collection;
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
     Collection<ItemRequest> getAllByRequestorId(long userId, Sort sort);
+
+    Slice<ItemRequest> findAllByRequestorIdNot(long userId, Pageable pageable);
 }
@@ -14,7 +14,6 @@ import ru.practicum.shareit.user.UserRepository;
 
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,8 +27,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequest create(Long userId, ItemRequestDto itemRequestDto) {
-        User user = userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
+        User user = userRepository.getReferenceById(userId);
         ItemRequest itemRequest = requestConverter.convert(itemRequestDto);
         if (itemRequest == null) {
             throw new NotFoundException(
@@ -43,29 +44,30 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     public Collection<ItemRequest> getAllUserRequests(Long userId, String[] sortBy) {
         Sort sort = setSort(sortBy);
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
         return itemRequestRepository.getAllByRequestorId(userId, sort);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Collection<ItemRequest> getAll(Long userId, int from, int size, String[] sortBy) {
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
         Sort sort = setSort(sortBy);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, sort);
-        return itemRequestRepository.findAll(pageable).stream()
-                .filter(itemRequest -> !Objects.equals(itemRequest.getRequestor().getId(), userId))
-                .collect(Collectors.toList());
+        return itemRequestRepository.findAllByRequestorIdNot(userId, pageable).toList();
     }
 
     @Override
     @Transactional(readOnly = true)
     public ItemRequest getById(long requestId, long userId) {
-        userRepository.findById(userId).orElseThrow(
-                () -> new NotFoundException(String.format("Пользователь № %d не найден", userId)));
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException(String.format("Пользователь № %d не найден", userId));
+        }
         return itemRequestRepository.findById(requestId).orElseThrow(
                 () -> new NotFoundException(String.format("Запрос № %d не найден", requestId)));
     }
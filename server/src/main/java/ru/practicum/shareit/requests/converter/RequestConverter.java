@@ -9,7 +9,11 @@ import ru.practicum.shareit.item.converter.ItemConverter;
 import ru.practicum.shareit.requests.ItemRequest;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -28,14 +32,26 @@ public class RequestConverter {
     }
 
     public ItemRequestDto convert(ItemRequest itemRequest) {
-        Set<ItemDto> itemDtoSet = itemRepository.findAllByRequestId(itemRequest.getId()).stream()
-                .map(itemConverter::convert)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-        return ItemRequestDto.builder()
-                .id(itemRequest.getId())
-                .description(itemRequest.getDescription())
-                .created(itemRequest.getCreated())
-                .items(itemDtoSet)
-                .build();
+        return convertAll(List.of(itemRequest)).get(0);
+    }
+
+    public List<ItemRequestDto> convertAll(Collection<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, Set<ItemDto>> itemsByRequest = itemRepository.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemConverter::convert, Collectors.toCollection(LinkedHashSet::new))));
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestDto.builder()
+                        .id(itemRequest.getId())
+                        .description(itemRequest.getDescription())
+                        .created(itemRequest.getCreated())
+                        .items(itemsByRequest.getOrDefault(itemRequest.getId(), new LinkedHashSet<>()))
+                        .build())
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
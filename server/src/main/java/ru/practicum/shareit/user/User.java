@@ -1,12 +1,19 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.util.Objects;
 
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter
 @Setter
 @ToString
@@ -26,6 +33,11 @@ public class User {
     @Column(nullable = false, length = 512)
     private String email;
 
+    @JsonIgnore
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -6,7 +6,6 @@ import ru.practicum.shareit.dto.UserDto;
 import ru.practicum.shareit.user.converter.UserConverter;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,9 +17,7 @@ public class UserController {
 
     @GetMapping
     public Collection<UserDto> getAllUsers() {
-        return userService.getAllUsers().stream()
-                .map(userConverter::convert)
-                .collect(Collectors.toList());
+        return userService.getAllUsers();
     }
 
     @GetMapping("/{userId}")
@@ -1,7 +1,19 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.dto.UserDto;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS_CACHE, key = "#p0", unless = "!#result")
+    boolean existsById(Long userId);
+
+    @Query("select new ru.practicum.shareit.dto.UserDto(user.id, user.name, user.email) from User user")
+    List<UserDto> findAllUserDtos();
 }
@@ -14,5 +14,5 @@ public interface UserService {
 
     void delete(long userId);
 
-    Collection<User> getAllUsers();
+    Collection<UserDto> getAllUsers();
 }
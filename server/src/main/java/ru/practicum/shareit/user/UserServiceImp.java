@@ -1,14 +1,26 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.AvailabilityIndex;
+import ru.practicum.shareit.config.CacheConfig;
+import ru.practicum.shareit.config.RetryOnOptimisticLock;
 import ru.practicum.shareit.dto.UserDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.user.converter.UserConverter;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
-import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -16,6 +28,11 @@ public class UserServiceImp implements UserService {
 
     private final UserRepository userRepository;
     private final UserConverter userConverter;
+    private final EntityManagerFactory entityManagerFactory;
+    private final CacheManager cacheManager;
+    private final AvailabilityIndex availabilityIndex;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     @Transactional(readOnly = true)
@@ -37,6 +54,7 @@ public class UserServiceImp implements UserService {
 
     @Override
     @Transactional
+    @RetryOnOptimisticLock
     public User update(Long userId, UserDto userDto) {
         User user = getById(userId);
         if (userDto.getEmail() != null) {
@@ -50,13 +68,41 @@ public class UserServiceImp implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.USER_EXISTS_CACHE, key = "#userId", beforeInvocation = true)
     public void delete(long userId) {
-        userRepository.delete(getById(userId));
+        User user = getById(userId);
+        itemSearchIndex.remove(itemRepository.findIdsCascadedFromUser(userId));
+        userRepository.delete(user);
+        availabilityIndex.invalidateAll();
+        afterCommit(() -> {
+            Optional.ofNullable(cacheManager.getCache(CacheConfig.USER_EXISTS_CACHE))
+                    .ifPresent(cache -> cache.evict(userId));
+            evictOwnedItems();
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Collection<User> getAllUsers() {
-        return List.copyOf(userRepository.findAll());
+    public Collection<UserDto> getAllUsers() {
+        return userRepository.findAllUserDtos();
+    }
+
+    private void evictOwnedItems() {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictEntityData(Item.class);
+        cache.evictQueryRegions();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 }
\ No newline at end of file
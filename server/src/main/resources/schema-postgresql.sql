@@ -0,0 +1,25 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+    GENERATED ALWAYS AS (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, ''))) STORED;
+
+CREATE INDEX IF NOT EXISTS IDX_ITEMS_SEARCH_VECTOR ON items USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS IDX_ITEMS_NAME_TRGM ON items USING GIN (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS IDX_ITEMS_DESCRIPTION_TRGM ON items USING GIN (lower(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = ''bookings''::regclass AND conname = ''ex_bookings_item_period'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT EX_BOOKINGS_ITEM_PERIOD
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date_time, end_date_time) WITH &&)
+            WHERE (status IN (''WAITING'', ''APPROVED''));
+    END IF;
+EXCEPTION
+    WHEN exclusion_violation THEN
+        RAISE EXCEPTION ''EX_BOOKINGS_ITEM_PERIOD not created: active bookings already overlap''
+            USING ERRCODE = ''exclusion_violation'',
+                  HINT = ''Reject or delete the overlapping WAITING/APPROVED bookings and restart.'';
+END';
@@ -2,6 +2,7 @@ CREATE TABLE IF NOT EXISTS users (
    user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
    name VARCHAR(255) NOT NULL,
    email VARCHAR(512) NOT NULL,
+   version BIGINT DEFAULT 0 NOT NULL,
    CONSTRAINT pk_user PRIMARY KEY (user_id),
    CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
 );
@@ -22,6 +23,7 @@ CREATE TABLE IF NOT EXISTS items (
     available BOOLEAN,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (item_id),
     CONSTRAINT FK_ITEM_ON_OWNER FOREIGN KEY (owner_id) REFERENCES users (user_id) ON DELETE CASCADE,
     CONSTRAINT FK_ITEM_ON_REQUEST FOREIGN KEY (request_id) REFERENCES item_requests (request_id) ON DELETE CASCADE,
@@ -34,12 +36,30 @@ CREATE TABLE IF NOT EXISTS bookings (
     end_date_time TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT,
     booker_id BIGINT,
+    owner_id BIGINT,
     status VARCHAR(15),
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (booking_id),
     CONSTRAINT FK_BOOKING_ON_BOOKER FOREIGN KEY (booker_id) REFERENCES users (user_id) ON DELETE CASCADE,
     CONSTRAINT FK_BOOKING_ON_ITEM FOREIGN KEY (item_id) REFERENCES items (item_id) ON DELETE CASCADE
 );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE bookings SET owner_id = (SELECT items.owner_id FROM items WHERE items.item_id = bookings.item_id)
+    WHERE owner_id IS NULL;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_BOOKER_START ON bookings (booker_id, start_date_time);
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_BOOKER_STATUS ON bookings (booker_id, status);
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_ITEM_START ON bookings (item_id, start_date_time);
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_ITEM_END ON bookings (item_id, end_date_time);
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_OWNER_START ON bookings (owner_id, start_date_time);
+CREATE INDEX IF NOT EXISTS IDX_BOOKINGS_OWNER_STATUS ON bookings (owner_id, status);
+CREATE INDEX IF NOT EXISTS IDX_ITEMS_OWNER ON items (owner_id);
+
 CREATE TABLE IF NOT EXISTS comments (
     comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
     text VARCHAR(4000) NOT NULL,
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.Status;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static ru.practicum.shareit.Status.*;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private AvailabilityIndex index;
+    private long nanoTime;
+
+    private final LocalDateTime now = LocalDateTime.of(2023, 1, 10, 12, 0);
+    private final BookingSlot past = new BookingSlot(1L, now.minusDays(3), now.minusDays(2), 7L, APPROVED);
+    private final BookingSlot longPast = new BookingSlot(2L, now.minusDays(4), now.minusDays(1), 7L, REJECTED);
+    private final BookingSlot future = new BookingSlot(3L, now.plusDays(1), now.plusDays(2), 8L, WAITING);
+    private final BookingSlot rejected = new BookingSlot(4L, now.plusDays(3), now.plusDays(4), 8L, REJECTED);
+
+    @BeforeEach
+    void setUp() {
+        index = new AvailabilityIndex(bookingRepository, 2, Duration.ofSeconds(30), () -> nanoTime);
+    }
+
+    @Test
+    void findLastAndNextTest() {
+        when(bookingRepository.findSlotsByItemId(1L)).thenReturn(List.of(longPast, past, future, rejected));
+
+        assertEquals(2L, index.findLast(1L, now).get().getId());
+        assertEquals(3L, index.findNext(1L, now).get().getId());
+        assertTrue(index.findLast(1L, now.minusDays(5)).isEmpty());
+        assertTrue(index.findNext(1L, now.plusDays(5)).isEmpty());
+        verify(bookingRepository, times(1)).findSlotsByItemId(1L);
+    }
+
+    @Test
+    void hasConflictIgnoresRejectedBookingsTest() {
+        when(bookingRepository.findSlotsByItemId(1L)).thenReturn(List.of(longPast, past, future, rejected));
+
+        assertTrue(index.hasConflict(1L, now.plusHours(30), now.plusDays(5)));
+        assertTrue(index.hasConflict(1L, now.minusDays(5), now.minusHours(60)));
+        assertFalse(index.hasConflict(1L, now.plusDays(2), now.plusDays(5)));
+        assertFalse(index.hasConflict(1L, now.minusDays(2), now.plusDays(1)));
+    }
+
+    @Test
+    void onBookingSavedUpdatesLoadedItemsTest() {
+        when(bookingRepository.findSlotsByItemId(1L)).thenReturn(List.of(past));
+        assertFalse(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+
+        index.onBookingSaved(booking(5L, 1L, now.plusDays(1), now.plusDays(2), WAITING));
+        assertTrue(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+
+        index.onBookingSaved(booking(5L, 1L, now.plusDays(1), now.plusDays(2), REJECTED));
+        assertFalse(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+        assertEquals(5L, index.findNext(1L, now).get().getId());
+        verify(bookingRepository, times(1)).findSlotsByItemId(1L);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedItemsTest() {
+        when(bookingRepository.findSlotsByItemId(anyLong())).thenReturn(List.of());
+
+        index.findNext(1L, now);
+        index.findNext(2L, now);
+        index.findNext(1L, now);
+        index.findNext(3L, now);
+        index.findNext(1L, now);
+        index.findNext(2L, now);
+
+        verify(bookingRepository, times(1)).findSlotsByItemId(1L);
+        verify(bookingRepository, times(2)).findSlotsByItemId(2L);
+    }
+
+    @Test
+    void reloadsScheduleAfterTtlTest() {
+        when(bookingRepository.findSlotsByItemId(1L)).thenReturn(List.of(past), List.of(past, future));
+        assertFalse(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+
+        nanoTime += Duration.ofSeconds(29).toNanos();
+        assertFalse(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+
+        nanoTime += Duration.ofSeconds(1).toNanos();
+        assertTrue(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+        verify(bookingRepository, times(2)).findSlotsByItemId(1L);
+    }
+
+    @Test
+    void invalidateAllReloadsSchedulesTest() {
+        when(bookingRepository.findSlotsByItemId(1L)).thenReturn(List.of(future), List.of());
+        assertTrue(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+
+        index.invalidateAll();
+        assertFalse(index.hasConflict(1L, now.plusDays(1), now.plusDays(2)));
+        verify(bookingRepository, times(2)).findSlotsByItemId(1L);
+    }
+
+    private Booking booking(Long id, Long itemId, LocalDateTime start, LocalDateTime end, Status status) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .booker(User.builder().id(8L).build())
+                .start(start)
+                .end(end)
+                .status(status)
+                .build();
+    }
+}
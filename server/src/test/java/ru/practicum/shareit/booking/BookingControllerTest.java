@@ -31,6 +31,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.Status.APPROVED;
@@ -259,4 +260,45 @@ class BookingControllerTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().is(400));
     }
- }
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET getAllByBooker with cursor returns bookings and next cursor header")
+    void getAllBookingsByBookerWithCursorTest() throws Exception {
+        when(bookingService.getAllByBooker(booker.getId(), State.ALL.name(), "", 1))
+                .thenReturn(List.of(booking));
+
+        mvc.perform(get("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_ID_HEADER, 2L)
+                        .queryParam("state", "ALL")
+                        .queryParam("size", "1")
+                        .queryParam("cursor", "")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(booking).encode()));
+    }
+
+    @Test
+    @DisplayName("GET getAllByOwner with withTotal returns X-Total-Count header")
+    void getAllBookingsByOwnerWithTotalTest() throws Exception {
+        when(bookingService.getAllByOwner(owner.getId(), State.ALL.name(), from, size, sortBy))
+                .thenReturn(List.of(booking));
+        when(bookingService.countAllByOwner(owner.getId(), State.ALL.name())).thenReturn(11L);
+
+        mvc.perform(get("/bookings/owner")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .header(USER_ID_HEADER, 1L)
+                        .queryParam("state", "ALL")
+                        .queryParam("from", String.valueOf(from))
+                        .queryParam("size", String.valueOf(size))
+                        .queryParam("sortBy", "start;DESC")
+                        .queryParam("withTotal", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().string("X-Total-Count", "11"));
+    }
+}
\ No newline at end of file
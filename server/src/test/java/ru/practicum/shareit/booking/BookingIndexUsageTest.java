@@ -0,0 +1,158 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.State;
+import ru.practicum.shareit.Status;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the repository queries behind every booking state.
+ * Owner lookups must go through an IDX_BOOKINGS_OWNER index. H2 always answers booker and item lookups
+ * from the index it creates for the foreign key, so for those the test checks that bookings are probed
+ * by the requested id on the column itself, not reached through a join on users or items.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.booking.BookingIndexUsageTest$SqlRecorder")
+class BookingIndexUsageTest {
+
+    private static final Pattern BOOKINGS_ACCESS =
+            Pattern.compile("\"PUBLIC\"\\.\"BOOKINGS\" \"\\w+\"\\s*/\\* PUBLIC\\.(\\w+)(: [^*]*)? \\*/");
+    private static final String OWNER_INDEX = "IDX_BOOKINGS_OWNER\\w*";
+
+    private final Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void bookerStateQueriesProbeBookerColumn() {
+        assertProbesColumn(() -> bookingRepository.findByBookerId(1L, pageable), "BOOKER_ID");
+        assertProbesColumn(() -> bookingRepository.findByBookerIdAndEndIsBefore(1L, now, pageable), "BOOKER_ID");
+        assertProbesColumn(() -> bookingRepository.findByBookerIdAndStartIsAfter(1L, now, pageable), "BOOKER_ID");
+        assertProbesColumn(() -> bookingRepository.findCurrentByBooker(1L, now, pageable), "BOOKER_ID");
+        assertProbesColumn(() -> bookingRepository.findByBookerIdAndStatusEquals(1L, Status.WAITING, pageable),
+                "BOOKER_ID");
+        for (State state : State.values()) {
+            assertProbesColumn(() -> bookingRepository.findByBookerSeek(1L, BookingFilter.of(state, now),
+                    BookingCursor.FIRST, PageRequest.of(0, 10)), "BOOKER_ID");
+        }
+    }
+
+    @Test
+    void ownerStateQueriesUseOwnerIndexes() {
+        assertUsesIndex(() -> bookingRepository.findByOwnerId(1L, pageable), OWNER_INDEX, "OWNER_ID");
+        assertUsesIndex(() -> bookingRepository.findByOwnerIdAndEndIsBefore(1L, now, pageable),
+                OWNER_INDEX, "OWNER_ID");
+        assertUsesIndex(() -> bookingRepository.findByOwnerIdAndStartIsAfter(1L, now, pageable),
+                OWNER_INDEX, "OWNER_ID");
+        assertUsesIndex(() -> bookingRepository.findCurrentBookingsByOwner(1L, now, pageable), OWNER_INDEX, "OWNER_ID");
+        assertUsesIndex(() -> bookingRepository.findByOwnerIdAndStatusEquals(1L, Status.REJECTED, pageable),
+                OWNER_INDEX, "OWNER_ID");
+        for (State state : State.values()) {
+            assertUsesIndex(() -> bookingRepository.findByOwnerSeek(1L, BookingFilter.of(state, now),
+                    BookingCursor.FIRST, PageRequest.of(0, 10)), OWNER_INDEX, "OWNER_ID");
+        }
+    }
+
+    @Test
+    void lastAndNextBookingQueriesProbeItemColumn() {
+        assertProbesColumn(() -> bookingRepository.findFirstByItemIdAndStartIsAfterOrderByStartAsc(1L, now), "ITEM_ID");
+        assertProbesColumn(() -> bookingRepository.findFirstByItemIdAndEndIsBeforeOrderByEndDesc(1L, now), "ITEM_ID");
+        assertProbesColumn(() -> bookingRepository.existsOverlapping(1L, now, now.plusDays(1),
+                List.of(Status.WAITING, Status.APPROVED)), "ITEM_ID");
+        assertProbesColumn(() -> bookingRepository.findSlotsByItemId(1L), "ITEM_ID");
+    }
+
+    private void assertUsesIndex(Runnable query, String indexName, String column) {
+        Matcher access = bookingsAccess(query);
+        assertThat(access.group(1)).as(access.group()).matches(indexName);
+        assertThat(access.group(2)).as(access.group()).contains(column);
+    }
+
+    private void assertProbesColumn(Runnable query, String column) {
+        Matcher access = bookingsAccess(query);
+        assertThat(access.group(2)).as(access.group()).containsPattern("\\b" + column + " = (?!\\w+\\.)");
+    }
+
+    private Matcher bookingsAccess(Runnable query) {
+        SqlRecorder.STATEMENTS.clear();
+        query.run();
+        assertThat(SqlRecorder.STATEMENTS).isNotEmpty();
+        String sql = SqlRecorder.STATEMENTS.get(0);
+        String plan = explain(sql);
+
+        Matcher access = BOOKINGS_ACCESS.matcher(plan);
+        assertThat(access.find()).as("bookings access in plan of %s:%n%s", sql, plan).isTrue();
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        return access;
+    }
+
+    private String explain(String sql) {
+        return em.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    bindSample(statement, i, parameters.getParameterType(i));
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private void bindSample(PreparedStatement statement, int index, int type) throws java.sql.SQLException {
+        switch (type) {
+            case Types.TIMESTAMP:
+            case Types.TIMESTAMP_WITH_TIMEZONE:
+                statement.setTimestamp(index, Timestamp.valueOf(now));
+                break;
+            case Types.VARCHAR:
+            case Types.CHAR:
+                statement.setString(index, Status.WAITING.name());
+                break;
+            default:
+                statement.setLong(index, 1L);
+        }
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
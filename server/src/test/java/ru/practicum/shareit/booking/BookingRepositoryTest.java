@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -9,13 +10,21 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.State;
+import ru.practicum.shareit.Status;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.requests.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static ru.practicum.shareit.Status.*;
 
 @DataJpaTest
@@ -26,26 +35,27 @@ class BookingRepositoryTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     private final User owner = User.builder().name("owner").email("owner@email.ru").build();
     private final User booker = User.builder().name("booker").email("booker@email.ru").build();
     private final Item item = Item.builder().available(true).description("item").owner(owner).build();
     private final Booking booking = Booking.builder()
-            .start(LocalDateTime.now().minusDays(2))
-            .end(LocalDateTime.now().minusDays(1))
+            .start(now.minusDays(2))
+            .end(now.minusDays(1))
             .item(item)
             .booker(booker)
             .status(WAITING)
             .build();
     private final Booking secondBooking = Booking.builder()
-            .start(LocalDateTime.now().plusMinutes(5))
-            .end(LocalDateTime.now().plusDays(1))
+            .start(now.plusMinutes(5))
+            .end(now.plusDays(1))
             .item(item)
             .booker(booker)
             .status(APPROVED)
             .build();
     private final Booking currentBooking = Booking.builder()
-            .start(LocalDateTime.now().minusMinutes(5))
-            .end(LocalDateTime.now().plusDays(1))
+            .start(now.minusMinutes(5))
+            .end(now.plusDays(1))
             .item(item)
             .booker(booker)
             .status(REJECTED)
@@ -76,6 +86,45 @@ class BookingRepositoryTest {
         assertEquals(booking, bookingResult);
     }
 
+    @Test
+    void findParticipantsByIdTest() {
+        BookingParticipants participants = bookingRepository.findParticipantsById(booking.getId()).get();
+        assertEquals(owner.getId(), participants.getOwnerId());
+        assertEquals(booker.getId(), participants.getBookerId());
+        assertTrue(bookingRepository.findParticipantsById(-1L).isEmpty());
+    }
+
+    @Test
+    void updateStatusByOwnerTest() {
+        assertEquals(0, bookingRepository.updateStatusByOwner(booking.getId(), booker.getId(), WAITING, APPROVED));
+        assertEquals(1, bookingRepository.updateStatusByOwner(booking.getId(), owner.getId(), WAITING, APPROVED));
+        assertEquals(0, bookingRepository.updateStatusByOwner(booking.getId(), owner.getId(), WAITING, REJECTED));
+        Booking approved = bookingRepository.findById(booking.getId()).get();
+        assertEquals(APPROVED, approved.getStatus());
+        assertEquals(1, approved.getVersion());
+    }
+
+    @Test
+    void existsOverlappingTest() {
+        List<Status> active = List.of(WAITING, APPROVED);
+        LocalDateTime start = secondBooking.getStart();
+        LocalDateTime end = secondBooking.getEnd();
+
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), start.plusHours(1), end.plusDays(1), active));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), end, end.plusDays(1), active));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), start.plusHours(1), end, List.of(WAITING)));
+    }
+
+    @Test
+    void streamBusyIntervalsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        try (Stream<BusyInterval> intervals = bookingRepository.streamBusyIntervals(List.of(item.getId(), -1L),
+                now.minusDays(3), now.plusDays(3), List.of(WAITING, APPROVED))) {
+            List<Long> bookingIds = intervals.map(BusyInterval::getBookingId).collect(Collectors.toList());
+            assertEquals(List.of(booking.getId(), secondBooking.getId()), bookingIds);
+        }
+    }
+
     @Test
     void findFirstByItemIdAndStartIsAfterOrderByStartAscTest() {
         Booking bookingResult = bookingRepository
@@ -90,6 +139,22 @@ class BookingRepositoryTest {
         assertEquals(booking, bookingResult);
     }
 
+    @Test
+    void findLastBookingsByItemIdsTest() {
+        List<Booking> bookings = bookingRepository
+                .findLastBookingsByItemIds(List.of(item.getId()), LocalDateTime.now());
+        assertEquals(1, bookings.size());
+        assertEquals(booking, bookings.get(0));
+    }
+
+    @Test
+    void findNextBookingsByItemIdsTest() {
+        List<Booking> bookings = bookingRepository
+                .findNextBookingsByItemIds(List.of(item.getId()), LocalDateTime.now());
+        assertEquals(1, bookings.size());
+        assertEquals(secondBooking, bookings.get(0));
+    }
+
     @Test
     void findByBookerIdTest() {
         List<Booking> bookings = bookingRepository.findByBookerId(booker.getId(), pageable).toList();
@@ -126,8 +191,8 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItemOwnerIdTest() {
-        List<Booking> bookings = bookingRepository.findByItemOwnerId(owner.getId(), pageable).toList();
+    void findByOwnerIdTest() {
+        List<Booking> bookings = bookingRepository.findByOwnerId(owner.getId(), pageable).toList();
         assertEquals(3, bookings.size());
         assertEquals(secondBooking, bookings.get(0));
     }
@@ -140,23 +205,87 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItemOwnerIdAndStartIsAfterTest() {
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndStartIsAfter(owner.getId(), LocalDateTime.now(), pageable).toList();
+    void findByOwnerIdAndStartIsAfterTest() {
+        List<Booking> bookings = bookingRepository.findByOwnerIdAndStartIsAfter(owner.getId(), LocalDateTime.now(), pageable).toList();
         assertEquals(1, bookings.size());
         assertEquals(secondBooking, bookings.get(0));
     }
 
     @Test
-    void findByItemOwnerIdAndEndIsBeforeTest() {
-        List<Booking> bookings = bookingRepository.findByItemOwnerIdAndEndIsBefore(owner.getId(), LocalDateTime.now(), pageable).toList();
+    void findByOwnerIdAndEndIsBeforeTest() {
+        List<Booking> bookings = bookingRepository.findByOwnerIdAndEndIsBefore(owner.getId(), LocalDateTime.now(), pageable).toList();
         assertEquals(1, bookings.size());
         assertEquals(booking, bookings.get(0));
     }
 
     @Test
-    void findByItemOwnerIdAndStatusEqualsRejected() {
+    void findByOwnerIdAndStatusEqualsRejected() {
         List<Booking> bookings = bookingRepository.findByBookerIdAndStatusEquals(booker.getId(), REJECTED, pageable).toList();
         assertEquals(1, bookings.size());
         assertEquals(currentBooking, bookings.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByBookerSeekTest() {
+        Pageable firstPage = PageRequest.of(0, 2);
+        BookingFilter all = BookingFilter.of(State.ALL, LocalDateTime.now());
+        List<Booking> bookings = bookingRepository.findByBookerSeek(booker.getId(), all, BookingCursor.FIRST, firstPage);
+        assertEquals(List.of(secondBooking, currentBooking), bookings);
+
+        List<Booking> nextBookings = bookingRepository.findByBookerSeek(booker.getId(), all,
+                BookingCursor.of(bookings.get(1)), firstPage);
+        assertEquals(List.of(booking), nextBookings);
+    }
+
+    @Test
+    void findByBookerSeekFiltersByStateTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Pageable pageable = PageRequest.of(0, 10);
+        assertEquals(List.of(booking), bookingRepository.findByBookerSeek(booker.getId(),
+                BookingFilter.of(State.PAST, now), BookingCursor.FIRST, pageable));
+        assertEquals(List.of(secondBooking), bookingRepository.findByBookerSeek(booker.getId(),
+                BookingFilter.of(State.FUTURE, now), BookingCursor.FIRST, pageable));
+        assertEquals(List.of(currentBooking), bookingRepository.findByBookerSeek(booker.getId(),
+                BookingFilter.of(State.CURRENT, now), BookingCursor.FIRST, pageable));
+        assertEquals(List.of(currentBooking), bookingRepository.findByBookerSeek(booker.getId(),
+                BookingFilter.of(State.REJECTED, now), BookingCursor.FIRST, pageable));
+    }
+
+    @Test
+    void findByOwnerSeekTest() {
+        List<Booking> bookings = bookingRepository.findByOwnerSeek(owner.getId(),
+                BookingFilter.of(State.WAITING, LocalDateTime.now()), BookingCursor.FIRST, PageRequest.of(0, 10));
+        assertEquals(List.of(booking), bookings);
+    }
+
+    @Test
+    void countByFilterTest() {
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(3, bookingRepository.countByOwner(owner.getId(), BookingFilter.of(State.ALL, now)));
+        assertEquals(1, bookingRepository.countByBooker(booker.getId(), BookingFilter.of(State.CURRENT, now)));
+        assertEquals(1, bookingRepository.countByOwner(owner.getId(), BookingFilter.of(State.WAITING, now)));
+    }
+
+    @Test
+    void findByIdLoadsItemAndBookerGraphTest() {
+        em.flush();
+        em.clear();
+        Booking bookingResult = bookingRepository.findById(booking.getId()).get();
+        assertTrue(Hibernate.isInitialized(bookingResult.getItem()));
+        assertTrue(Hibernate.isInitialized(bookingResult.getItem().getOwner()));
+        assertTrue(Hibernate.isInitialized(bookingResult.getBooker()));
+    }
+
+    @Test
+    void findByIdLoadsItemRequestRequestorTest() {
+        User requestor = em.persist(User.builder().name("requestor").email("requestor@email.ru").build());
+        ItemRequest request = em.persist(ItemRequest.builder().description("request")
+                .requestor(requestor).created(now).build());
+        item.setRequest(request);
+        em.flush();
+        em.clear();
+        Booking bookingResult = bookingRepository.findById(booking.getId()).get();
+        assertTrue(Hibernate.isInitialized(bookingResult.getItem().getRequest()));
+        assertTrue(Hibernate.isInitialized(bookingResult.getItem().getRequest().getRequestor()));
+    }
+}
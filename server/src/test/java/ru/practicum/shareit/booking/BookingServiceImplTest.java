@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
 import ru.practicum.shareit.State;
 import ru.practicum.shareit.Status;
@@ -17,10 +18,12 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -43,6 +46,8 @@ class BookingServiceImplTest {
     private BookingRepository bookingRepository;
     @Mock
     private BookingConverter bookingConverter;
+    @Mock
+    private AvailabilityIndex availabilityIndex;
 
     private final int page = 0;
     private final int size = 10;
@@ -56,12 +61,14 @@ class BookingServiceImplTest {
             .start(LocalDateTime.now())
             .end(LocalDateTime.now().plusDays(1))
             .itemId(item.getId()).build();
+    private final BookingParticipants participants = new BookingParticipants(owner.getId(), booker.getId());
     private final Booking booking = Booking.builder()
             .id(5L)
             .start(incomingBookingDto.getStart())
             .end(incomingBookingDto.getEnd())
             .item(item)
             .booker(booker)
+            .ownerId(owner.getId())
             .status(WAITING)
             .build();
 
@@ -69,21 +76,81 @@ class BookingServiceImplTest {
     @DisplayName("Check Booking create method calls repository methods")
     void createBookingTest() {
         when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         when(bookingConverter.convert(incomingBookingDto)).thenReturn(booking);
 
         serviceImp.create(booker.getId(), incomingBookingDto);
 
         verify(userRepository, times(1)).findById(2L);
-        verify(itemRepository, atLeast(1)).findById(6L);
+        verify(itemRepository, times(1)).findByIdForUpdate(6L);
+        verify(bookingRepository, never()).existsOverlapping(anyLong(), any(), any(), anyCollection());
         verify(bookingRepository, times(1)).save(any());
+        verify(availabilityIndex, times(1)).onBookingSaved(any());
+    }
+
+    @Test
+    @DisplayName("Check Booking create method saves booking when the database does not confirm an index conflict")
+    void createBookingStaleIndexConflictTest() {
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingConverter.convert(incomingBookingDto)).thenReturn(booking);
+        when(availabilityIndex.hasConflict(item.getId(), booking.getStart(), booking.getEnd())).thenReturn(true);
+        when(bookingRepository.save(booking)).thenReturn(booking);
+
+        assertEquals(booking, serviceImp.create(booker.getId(), incomingBookingDto));
+        verify(bookingRepository, times(1))
+                .existsOverlapping(item.getId(), booking.getStart(), booking.getEnd(), List.of(WAITING, APPROVED));
+        verify(availabilityIndex, times(1)).onBookingSaved(booking);
+    }
+
+    @Test
+    @DisplayName("Check Booking create method fails if item is already booked for the period")
+    void createBookingOverlapFailTest() {
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingConverter.convert(incomingBookingDto)).thenReturn(booking);
+        when(availabilityIndex.hasConflict(item.getId(), booking.getStart(), booking.getEnd())).thenReturn(true);
+        when(bookingRepository.existsOverlapping(item.getId(), booking.getStart(), booking.getEnd(), List.of(WAITING, APPROVED)))
+                .thenReturn(true);
+
+        final var thrown = assertThrows(BookingConflictException.class,
+                () -> serviceImp.create(booker.getId(), incomingBookingDto));
+        assertEquals("Предмет № 6 уже забронирован на указанный период", thrown.getMessage());
+        verify(bookingRepository, never()).save(any());
+        verify(availabilityIndex, never()).onBookingSaved(any());
+    }
+
+    @Test
+    @DisplayName("Check Booking create method maps the overlap exclusion violation to a conflict")
+    void createBookingExclusionViolationTest() {
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingConverter.convert(incomingBookingDto)).thenReturn(booking);
+        when(bookingRepository.save(booking)).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(BookingConflictException.class, () -> serviceImp.create(booker.getId(), incomingBookingDto));
+        verify(availabilityIndex, never()).onBookingSaved(any());
+    }
+
+    @Test
+    @DisplayName("Check Booking create method rethrows other integrity violations")
+    void createBookingOtherIntegrityViolationTest() {
+        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingConverter.convert(incomingBookingDto)).thenReturn(booking);
+        when(bookingRepository.save(booking)).thenThrow(new DataIntegrityViolationException("not null",
+                new SQLException("null value in column violates not-null constraint", "23502")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> serviceImp.create(booker.getId(), incomingBookingDto));
+        verify(availabilityIndex, never()).onBookingSaved(any());
     }
 
     @Test
     @DisplayName("Check Booking create method fails if owner try to book item")
     void createBookingFailTest() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         when(bookingConverter.convert(incomingBookingDto)).thenReturn(booking);
 
         final var thrown = assertThrows(NotFoundException.class, () -> serviceImp.create(owner.getId(), incomingBookingDto));
@@ -129,48 +196,40 @@ class BookingServiceImplTest {
 
     @Test
     void methodReturnUserTypesTest() {
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        UserType booker = serviceImp.getUserType(booking, booking.getBooker().getId());
+        UserType booker = serviceImp.getUserType(participants, booking.getBooker().getId());
         assertEquals(UserType.BOOKER, booker);
 
-        UserType owner = serviceImp.getUserType(booking, item.getOwner().getId());
+        UserType owner = serviceImp.getUserType(participants, item.getOwner().getId());
         assertEquals(UserType.OWNER, owner);
 
-        UserType other = serviceImp.getUserType(booking, -1L);
+        UserType other = serviceImp.getUserType(participants, -1L);
         assertEquals(UserType.OTHER_USER, other);
-    }
-
-    @Test
-    @DisplayName("Check getUserType throws NotFoundException when user is wrong")
-    void checkReturnUserTypeFailTest() {
-        final var thrown = assertThrows(
-                NotFoundException.class, () -> serviceImp.getUserType(booking, 5L));
-        assertEquals("Предмет № 6 не найден", thrown.getMessage());
+        verifyNoInteractions(itemRepository, bookingRepository);
     }
 
     @Test
     @DisplayName("Check Booking getById method calls repository methods")
     void getByIdTest() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.ofNullable(booker));
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
-        Booking returnedBooking = serviceImp.getById(booking.getId(), booker.getId());
+        assertEquals(booking, serviceImp.getById(booking.getId(), booker.getId()));
+        assertEquals(booking, serviceImp.getById(booking.getId(), owner.getId()));
 
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(bookingRepository, times(1)).findById(booking.getId());
-        assertEquals(returnedBooking,booking);
+        verify(bookingRepository, times(2)).findById(booking.getId());
+        verify(bookingRepository, never()).findParticipantsById(anyLong());
+        verify(userRepository, never()).existsById(anyLong());
+        verify(itemRepository, never()).findById(anyLong());
     }
 
     @Test
     @DisplayName("Check Booking getById throws NotFoundException when userId is not one of OWNER or BOOKER")
     void getByIdFailTest() {
-        when(userRepository.findById(otherUser.getId())).thenReturn(Optional.ofNullable(otherUser));
+        when(userRepository.existsById(otherUser.getId())).thenReturn(true);
         when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         final var thrown = assertThrows(
                 NotFoundException.class, () -> serviceImp.getById(booking.getId(), otherUser.getId()));
         assertEquals("Пользователь № 3 не является владельцем вещи или заказа", thrown.getMessage());
+        verify(bookingRepository, never()).findParticipantsById(anyLong());
     }
 
     @Test
@@ -184,7 +243,7 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Check Booking getById throws NotFoundException when when itemId is wrong")
     void getByIdFailNotFoundExForItemTest() {
-        when(userRepository.findById(otherUser.getId())).thenReturn(Optional.ofNullable(otherUser));
+        when(userRepository.existsById(otherUser.getId())).thenReturn(true);
         final var thrown = assertThrows(
                 NotFoundException.class, () -> serviceImp.getById(10L, otherUser.getId()));
         assertEquals("Бронирование № 10 не найдено", thrown.getMessage());
@@ -197,15 +256,18 @@ class BookingServiceImplTest {
                 .id(7L)
                 .item(item)
                 .booker(booker)
-                .status(WAITING)
+                .status(APPROVED)
                 .build();
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.updateStatusByOwner(processedRequest.getId(), owner.getId(), WAITING, APPROVED))
+                .thenReturn(1);
         when(bookingRepository.findById(processedRequest.getId())).thenReturn(Optional.of(processedRequest));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
-        serviceImp.processRequest(owner.getId(),processedRequest.getId(),true);
-        assertEquals(APPROVED, processedRequest.getStatus());
-        verify(bookingRepository, times(1)).save(any());
+        Booking result = serviceImp.processRequest(owner.getId(), processedRequest.getId(), true);
+        assertEquals(APPROVED, result.getStatus());
+        verify(bookingRepository, never()).findParticipantsById(anyLong());
+        verify(bookingRepository, never()).save(any());
+        verify(availabilityIndex, times(1)).onBookingSaved(processedRequest);
     }
 
     @Test
@@ -217,9 +279,11 @@ class BookingServiceImplTest {
                 .booker(booker)
                 .status(Status.REJECTED)
                 .build();
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.updateStatusByOwner(processedRequest.getId(), owner.getId(), WAITING, APPROVED))
+                .thenReturn(0);
+        when(bookingRepository.findParticipantsById(processedRequest.getId())).thenReturn(Optional.of(participants));
         when(bookingRepository.findById(processedRequest.getId())).thenReturn(Optional.of(processedRequest));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         final var thrown = assertThrows(
                 StatusProcessException.class, () -> serviceImp.processRequest(owner.getId(),processedRequest.getId(),true));
@@ -227,18 +291,37 @@ class BookingServiceImplTest {
         verify(bookingRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Check that second approval of the same booking fails")
+    void processRequestTwiceFailsTest() {
+        Booking processedRequest = Booking.builder()
+                .id(7L)
+                .item(item)
+                .booker(booker)
+                .status(APPROVED)
+                .build();
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(bookingRepository.findParticipantsById(processedRequest.getId())).thenReturn(Optional.of(participants));
+        when(bookingRepository.findById(processedRequest.getId())).thenReturn(Optional.of(processedRequest));
+
+        final var thrown = assertThrows(
+                StatusProcessException.class, () -> serviceImp.processRequest(owner.getId(),processedRequest.getId(),true));
+        assertEquals("Статус заказа уже переведен в APPROVED", thrown.getMessage());
+    }
+
     @Test
     @DisplayName("Check that method processRequest throws NotFoundException if user is not found")
     void processRequestThrowsNotFoundExceptionTest() {
         NotFoundException thrown = assertThrows(
                 NotFoundException.class, () -> serviceImp.processRequest(10L,booking.getId(),true));
         assertEquals("Пользователь № 10 не найден", thrown.getMessage());
+        verify(bookingRepository, never()).updateStatusByOwner(anyLong(), anyLong(), any(), any());
     }
 
     @Test
     @DisplayName("Check that method processRequest throws NotFoundException if booking is not found")
     void processRequestThrowsNotFoundExceptionForBookingTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         NotFoundException thrown = assertThrows(
                 NotFoundException.class, () -> serviceImp.processRequest(owner.getId(), 10L,true));
         assertEquals("Бронирование № 10 не найдено", thrown.getMessage());
@@ -247,45 +330,45 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Check that method processRequest throws NotFoundException when request is not from ItemOwner")
     void processRequestFailsWhenNotItemOwnerRequestTest() {
-        when(userRepository.findById(otherUser.getId())).thenReturn(Optional.ofNullable(otherUser));
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(userRepository.existsById(otherUser.getId())).thenReturn(true);
+        when(bookingRepository.findParticipantsById(booking.getId())).thenReturn(Optional.of(participants));
         NotFoundException thrown = assertThrows(
                 NotFoundException.class, () -> serviceImp.processRequest(otherUser.getId(),booking.getId(),true));
         assertEquals("Пользователь № 3 не является владельцем вещи", thrown.getMessage());
+        verify(bookingRepository, never()).findById(anyLong());
     }
 
     @Test
     void getAllBookingsByOwnerTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         State argsState = ALL;
-        when(bookingRepository.findByItemOwnerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(new Booking())));
+        when(bookingRepository.findByOwnerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(new Booking())));
 
         Collection<Booking> bookings = serviceImp.getAllByOwner(1L, argsState.name(), page, size, sortBy);
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        verify(bookingRepository, times(1)).findByItemOwnerId(anyLong(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(bookingRepository, times(1)).findByOwnerId(anyLong(), any());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllPastBookingsByOwnerTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         State argsState = PAST;
         long userId = booking.getItem().getOwner().getId();
-        when(bookingRepository.findByItemOwnerIdAndEndIsBefore(eq(userId), any(), any()))
+        when(bookingRepository.findByOwnerIdAndEndIsBefore(eq(userId), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
 
         Collection<Booking> bookings = serviceImp.getAllByOwner(userId, argsState.name(), page, size, sortBy);
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        verify(bookingRepository, times(1)).findByItemOwnerIdAndEndIsBefore(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(bookingRepository, times(1)).findByOwnerIdAndEndIsBefore(anyLong(), any(), any());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllCurrentBookingsByOwnerTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         State argsState = CURRENT;
         when(bookingRepository.findCurrentBookingsByOwner(anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
@@ -294,40 +377,40 @@ class BookingServiceImplTest {
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1)).findCurrentBookingsByOwner(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllBookingsWithRejectedStateByOwnerTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         State argsState = REJECTED;
-        when(bookingRepository.findByItemOwnerIdAndStatusEquals(anyLong(), eq(Status.REJECTED), any()))
+        when(bookingRepository.findByOwnerIdAndStatusEquals(anyLong(), eq(Status.REJECTED), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
 
         Collection<Booking> bookings = serviceImp.getAllByOwner(1L, argsState.name(), page, size, sortBy);
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        verify(bookingRepository, times(1)).findByItemOwnerIdAndStatusEquals(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(bookingRepository, times(1)).findByOwnerIdAndStatusEquals(anyLong(), any(), any());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllBookingsWithWaitingStateByOwnerTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         State argsState = State.WAITING;
-        when(bookingRepository.findByItemOwnerIdAndStatusEquals(anyLong(), eq(WAITING), any()))
+        when(bookingRepository.findByOwnerIdAndStatusEquals(anyLong(), eq(WAITING), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
 
         Collection<Booking> bookings = serviceImp.getAllByOwner(1L, argsState.name(), page, size, sortBy);
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        verify(bookingRepository, times(1)).findByItemOwnerIdAndStatusEquals(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(bookingRepository, times(1)).findByOwnerIdAndStatusEquals(anyLong(), any(), any());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllBookingsByBookerTest() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         State argsState = ALL;
         when(bookingRepository.findByBookerId(anyLong(), any())).thenReturn(new PageImpl<>(List.of(new Booking())));
 
@@ -335,12 +418,12 @@ class BookingServiceImplTest {
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1)).findByBookerId(anyLong(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllPastBookingsByOwnerBookerTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         State argsState = PAST;
         long userId = booking.getItem().getOwner().getId();
         when(bookingRepository.findByBookerIdAndEndIsBefore(eq(userId), any(), any()))
@@ -350,12 +433,12 @@ class BookingServiceImplTest {
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1)).findByBookerIdAndEndIsBefore(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllCurrentBookingsByBookerTest() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         State argsState = CURRENT;
         when(bookingRepository.findCurrentByBooker(anyLong(), any(), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
@@ -364,12 +447,12 @@ class BookingServiceImplTest {
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1)).findCurrentByBooker(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllBookingsWithRejectedStateByBookerTest() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         State argsState = REJECTED;
         when(bookingRepository.findByBookerIdAndStatusEquals(anyLong(), eq(Status.REJECTED), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
@@ -378,12 +461,12 @@ class BookingServiceImplTest {
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1)).findByBookerIdAndStatusEquals(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllBookingsWithWaitingStateByBookerTest() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         State argsState = State.WAITING;
         when(bookingRepository.findByBookerIdAndStatusEquals(anyLong(), eq(WAITING), any()))
                 .thenReturn(new PageImpl<>(List.of(new Booking())));
@@ -392,13 +475,13 @@ class BookingServiceImplTest {
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         verify(bookingRepository, times(1)).findByBookerIdAndStatusEquals(anyLong(), any(), any());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     @DisplayName("Check getAllBookingsByOwner throws StateValidationException when state is wrong")
     void getAllBookingsByOwnerFailTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         String argsState = "WRONG";
         final var thrown = assertThrows(
                 StateValidationException.class, () -> serviceImp.getAllByOwner(1L, argsState, page, size, sortBy));
@@ -408,7 +491,7 @@ class BookingServiceImplTest {
     @Test
     @DisplayName("Check getAllBookingsByBooker throws StateValidationException when state is wrong")
     void getAllBookingsByBookerFailTest() {
-        when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
         String argsState = "WRONG";
         final var thrown = assertThrows(
                 StateValidationException.class, () -> serviceImp.getAllByBooker(2L, argsState, page, size, sortBy));
@@ -430,4 +513,53 @@ class BookingServiceImplTest {
                 NotFoundException.class, () -> serviceImp.getAllByBooker(10L, ALL.name(), page, size, sortBy));
         assertEquals("Пользователь № 10 не найден", thrown.getMessage());
     }
+
+    @Test
+    void getAllBookingsByOwnerWithCursorTest() {
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        String cursor = BookingCursor.of(booking).encode();
+        when(bookingRepository.findByOwnerSeek(eq(1L), any(), argThat(position ->
+                position.getStart().equals(booking.getStart()) && position.getId().equals(booking.getId())), any()))
+                .thenReturn(List.of(new Booking()));
+
+        List<Booking> bookings = serviceImp.getAllByOwner(1L, PAST.name(), cursor, size);
+        assertEquals(1, bookings.size());
+        verify(bookingRepository, never()).findByOwnerIdAndEndIsBefore(anyLong(), any(), any());
+    }
+
+    @Test
+    void getAllBookingsByBookerWithEmptyCursorTest() {
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        when(bookingRepository.findByBookerSeek(eq(2L), any(), eq(BookingCursor.FIRST), any()))
+                .thenReturn(List.of(booking));
+
+        List<Booking> bookings = serviceImp.getAllByBooker(2L, ALL.name(), "", size);
+        assertEquals(List.of(booking), bookings);
+    }
+
+    @Test
+    @DisplayName("Check getAllBookingsByBooker throws ValidationException when cursor is malformed")
+    void getAllBookingsByBookerWrongCursorTest() {
+        when(userRepository.existsById(booker.getId())).thenReturn(true);
+        final var thrown = assertThrows(
+                ValidationException.class, () -> serviceImp.getAllByBooker(2L, ALL.name(), "@@@", size));
+        assertEquals("Некорректный курсор @@@", thrown.getMessage());
+    }
+
+    @Test
+    void countAllBookingsByOwnerTest() {
+        when(bookingRepository.countByOwner(eq(1L), argThat(filter -> Set.of(Status.REJECTED).equals(filter.getStatuses()))))
+                .thenReturn(3L);
+
+        assertEquals(3L, serviceImp.countAllByOwner(1L, REJECTED.name()));
+        verify(bookingRepository, never()).findByOwnerIdAndStatusEquals(anyLong(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Check countAllByBooker throws StateValidationException when state is wrong")
+    void countAllBookingsByBookerFailTest() {
+        final var thrown = assertThrows(
+                StateValidationException.class, () -> serviceImp.countAllByBooker(2L, "WRONG"));
+        assertEquals("Такого параметра не существует WRONG", thrown.getMessage());
+    }
 }
\ No newline at end of file
@@ -9,7 +9,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.State;
 import ru.practicum.shareit.dto.IncomingBookingDto;
+import ru.practicum.shareit.exceptions.BookingConflictException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.user.User;
 
@@ -19,6 +21,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.Status.APPROVED;
 import static ru.practicum.shareit.Status.REJECTED;
 import static ru.practicum.shareit.Status.WAITING;
 
@@ -64,8 +68,8 @@ class BookingServiceIntTest {
     @Test
     void createBooking() {
         IncomingBookingDto incomingBookingDto = IncomingBookingDto.builder()
-                .start(LocalDateTime.now().plusDays(1))
-                .end(LocalDateTime.now().plusDays(4))
+                .start(LocalDateTime.now().plusDays(4))
+                .end(LocalDateTime.now().plusDays(5))
                 .itemId(item.getId())
                 .build();
         User otherBooker = User.builder().name("otherBooker").email("otherBooker@email.ru").build();
@@ -84,6 +88,20 @@ class BookingServiceIntTest {
         Assertions.assertThat(booking.getClass().hashCode()).isEqualTo(hashCode);
     }
 
+    @Test
+    void createOverlappingBookingFailsTest() {
+        IncomingBookingDto incomingBookingDto = IncomingBookingDto.builder()
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(4))
+                .itemId(item.getId())
+                .build();
+        User otherBooker = User.builder().name("otherBooker").email("otherBooker@email.ru").build();
+        em.persist(otherBooker);
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.create(otherBooker.getId(), incomingBookingDto));
+    }
+
     @Test
     void getAllByBookerWithFutureStateTest() {
         List<Booking> bookings = (List<Booking>) bookingService.getAllByBooker(booker.getId(), "FUTURE",page, size, sortBy);
@@ -93,14 +111,35 @@ class BookingServiceIntTest {
         assertThat(bookings.get(0).getEnd()).isEqualTo(booking.getEnd());
     }
 
+    @Test
+    void cursorListingsMatchOffsetListingsTest() {
+        LocalDateTime now = LocalDateTime.now();
+        em.persist(booking.toBuilder().id(null).start(now.minusDays(5)).end(now.minusDays(4)).status(null).build());
+        em.persist(booking.toBuilder().id(null).start(now.minusDays(3)).end(now.minusDays(2)).status(REJECTED).build());
+        em.persist(booking.toBuilder().id(null).start(now.minusDays(1))
+                .end(LocalDateTime.of(9999, 12, 31, 23, 59, 59)).status(APPROVED).build());
+        String[] latestFirst = {"start;DESC", "id;DESC"};
+
+        for (State state : State.values()) {
+            assertThat(bookingService.getAllByBooker(booker.getId(), state.name(), null, 100))
+                    .as("booker %s", state)
+                    .isEqualTo(bookingService.getAllByBooker(booker.getId(), state.name(), 0, 100, latestFirst));
+            assertThat(bookingService.getAllByOwner(owner.getId(), state.name(), null, 100))
+                    .as("owner %s", state)
+                    .isEqualTo(bookingService.getAllByOwner(owner.getId(), state.name(), 0, 100, latestFirst));
+        }
+        assertThat(bookingService.getAllByBooker(booker.getId(), State.ALL.name(), null, 100).size()).isEqualTo(4);
+    }
+
     @Test
     @DisplayName("IntegrationTest processRequest method changes status to rejected")
     void processRequestTest() {
         assertThat(booking).isNotNull();
         assertThat(booking.getStatus()).isEqualTo(WAITING);
 
-        bookingService.processRequest(owner.getId(), booking.getId(),false);
-        assertThat(booking.getStatus()).isEqualTo(REJECTED);
+        Booking processed = bookingService.processRequest(owner.getId(), booking.getId(),false);
+        assertThat(processed.getStatus()).isEqualTo(REJECTED);
+        assertThat(em.find(Booking.class, booking.getId()).getStatus()).isEqualTo(REJECTED);
 
     }
 }
\ No newline at end of file
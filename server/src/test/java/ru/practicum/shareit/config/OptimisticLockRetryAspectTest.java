@@ -0,0 +1,86 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptimisticLockRetryAspectTest {
+
+    private final Updater target = new Updater();
+
+    @AfterEach
+    void resetTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void retriesUntilUpdateSucceedsTest() {
+        target.conflicts = 2;
+
+        assertEquals("updated", proxy(3).update());
+        assertEquals(3, target.calls);
+    }
+
+    @Test
+    void rethrowsConflictAfterMaxAttemptsTest() {
+        target.conflicts = 5;
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy(3).update());
+        assertEquals(3, target.calls);
+    }
+
+    @Test
+    void doesNotRetryInsideOuterTransactionTest() {
+        target.conflicts = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy(3).update());
+        assertEquals(1, target.calls);
+    }
+
+    @Test
+    void rethrowsConflictWhenInterruptedDuringBackoffTest() {
+        target.conflicts = 1;
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy(3, Duration.ofSeconds(10)).update());
+            assertEquals(1, target.calls);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    private Updater proxy(int maxAttempts) {
+        return proxy(maxAttempts, Duration.ZERO);
+    }
+
+    private Updater proxy(int maxAttempts, Duration backoff) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new OptimisticLockRetryAspect(maxAttempts, backoff));
+        return factory.getProxy();
+    }
+
+    static class Updater {
+        int conflicts;
+        int calls;
+
+        @RetryOnOptimisticLock
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Updater.class, calls);
+            }
+            return "updated";
+        }
+    }
+}
@@ -9,7 +9,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import ru.practicum.shareit.Status;
+import ru.practicum.shareit.booking.BusyInterval;
 import ru.practicum.shareit.dto.BookingDto;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
@@ -23,14 +26,22 @@ import ru.practicum.shareit.user.User;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
@@ -175,8 +186,7 @@ class ItemControllerTest {
     @Test
     @DisplayName("GET search items returns items and status 200 Ok")
     void searchItemTest() throws Exception {
-        when(itemConverter.convert(item)).thenReturn(itemDto);
-        when(itemService.searchItems("descr", from, size)).thenReturn(List.of(item));
+        when(itemService.searchItems("descr", from, size, SearchSort.NONE)).thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search")
                         .content(mapper.writeValueAsString(itemDto))
@@ -191,11 +201,28 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id", is(itemDto.getId().intValue())));
     }
 
+    @Test
+    @DisplayName("GET search items sorted by relevance passes sort to service")
+    void searchItemByRelevanceTest() throws Exception {
+        when(itemService.searchItems("descr", from, size, SearchSort.RELEVANCE)).thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/items/search")
+                        .queryParam("text", "descr")
+                        .queryParam("from", String.valueOf(from))
+                        .queryParam("size", String.valueOf(size))
+                        .queryParam("sort", "RELEVANCE")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(itemDto.getId().intValue())));
+    }
+
     @Test
     @DisplayName("GET search items with empty text returns ValidationException and status 400")
     void searchItemReturnsValidationExTest() throws Exception {
         when(itemConverter.convert(item)).thenReturn(itemDto);
-        when(itemService.searchItems("", from, size)).thenThrow(ValidationException.class);
+        when(itemService.searchItems("", from, size, SearchSort.NONE)).thenThrow(ValidationException.class);
 
         mvc.perform(get("/items/search")
                         .content(mapper.writeValueAsString(itemDto))
@@ -210,6 +237,110 @@ class ItemControllerTest {
                 .andExpect(status().is(400));
     }
 
+    @Test
+    @DisplayName("GET availability returns item availability for period and status 200 Ok")
+    void getAvailabilityTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusDays(1);
+        when(itemService.getAvailability(6L, 3L, start, end)).thenReturn(new ItemAvailability(3L, start, end, true));
+
+        mvc.perform(get("/items/3/availability")
+                        .header(USER_ID_HEADER, 6L)
+                        .queryParam("start", start.toString())
+                        .queryParam("end", end.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is(3)))
+                .andExpect(jsonPath("$.available", is(true)));
+    }
+
+    @Test
+    @DisplayName("GET calendar streams busy intervals grouped by item, with booking details for own items, status 200 Ok")
+    void getCalendarTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime end = start.plusMonths(1);
+        doAnswer(invocation -> {
+            Consumer<BusyInterval> consumer = invocation.getArgument(3);
+            consumer.accept(new BusyInterval(3L, 6L, 11L, start.plusDays(1), start.plusDays(2), Status.APPROVED));
+            consumer.accept(new BusyInterval(3L, 6L, 12L, start.plusDays(5), start.plusDays(6), Status.WAITING));
+            consumer.accept(new BusyInterval(4L, 7L, 13L, start.plusDays(3), start.plusDays(4), Status.APPROVED));
+            return null;
+        }).when(itemService).streamCalendar(eq(Set.of(2L, 3L, 4L)), eq(start), eq(end), any());
+
+        MvcResult result = mvc.perform(get("/items/calendar")
+                        .header(USER_ID_HEADER, 6L)
+                        .queryParam("ids", "4", "3", "2")
+                        .queryParam("start", start.toString())
+                        .queryParam("end", end.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].itemId", is(2)))
+                .andExpect(jsonPath("$[0].busy", hasSize(0)))
+                .andExpect(jsonPath("$[1].itemId", is(3)))
+                .andExpect(jsonPath("$[1].busy", hasSize(2)))
+                .andExpect(jsonPath("$[1].busy[0].bookingId", is(11)))
+                .andExpect(jsonPath("$[1].busy[1].status", is("WAITING")))
+                .andExpect(jsonPath("$[2].itemId", is(4)))
+                .andExpect(jsonPath("$[2].busy", hasSize(1)))
+                .andExpect(jsonPath("$[2].busy[0].start", is("2030-01-04T00:00:00")))
+                .andExpect(jsonPath("$[2].busy[0].bookingId").doesNotExist())
+                .andExpect(jsonPath("$[2].busy[0].status").doesNotExist());
+        verify(itemService).checkUserExists(6L);
+    }
+
+    @Test
+    @DisplayName("GET calendar without user header status 400 Bad Request")
+    void getCalendarRequiresUserTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        mvc.perform(get("/items/calendar")
+                        .queryParam("ids", "2")
+                        .queryParam("start", start.toString())
+                        .queryParam("end", start.plusDays(1).toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).streamCalendar(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET calendar rejects an empty period before streaming status 400 Bad Request")
+    void getCalendarRejectsEmptyPeriodTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        mvc.perform(get("/items/calendar")
+                        .header(USER_ID_HEADER, 6L)
+                        .queryParam("ids", "2")
+                        .queryParam("start", start.toString())
+                        .queryParam("end", start.toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).streamCalendar(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET calendar rejects more than 100 items status 400 Bad Request")
+    void getCalendarRejectsTooManyItemsTest() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 0, 0);
+        String[] ids = LongStream.rangeClosed(1, 101).mapToObj(String::valueOf).toArray(String[]::new);
+
+        mvc.perform(get("/items/calendar")
+                        .header(USER_ID_HEADER, 6L)
+                        .queryParam("ids", ids)
+                        .queryParam("start", start.toString())
+                        .queryParam("end", start.plusDays(1).toString())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+        verify(itemService, never()).streamCalendar(any(), any(), any(), any());
+    }
+
     @Test
     @DisplayName("POST addComment returns commentDto and status 200 Ok")
     void addCommentTest() throws Exception {
@@ -8,6 +8,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.dto.ItemDto;
 import ru.practicum.shareit.requests.ItemRequest;
 import ru.practicum.shareit.requests.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -52,9 +53,18 @@ class ItemRepositoryTest {
 
     @Test
     void searchItemsTest() {
-        List<Item> items = itemRepository.searchItems("%text%", pageable).toList();
+        List<ItemDto> items = itemRepository.searchItems("%text%", pageable).toList();
         assertEquals(1, items.size());
-        assertEquals(item, items.get(0));
+        assertEquals(item.getId(), items.get(0).getId());
+        assertEquals(item.getName(), items.get(0).getName());
+    }
+
+    @Test
+    void findItemDtosByIdInTest() {
+        List<ItemDto> items = itemRepository.findItemDtosByIdIn(List.of(otherItem.getId(), -1L));
+        assertEquals(1, items.size());
+        assertEquals(otherItem.getId(), items.get(0).getId());
+        assertEquals(itemRequest.getId(), items.get(0).getRequestId());
     }
 
     @Test
@@ -69,4 +79,11 @@ class ItemRepositoryTest {
         assertEquals(1, items.size());
         assertEquals(otherItem, items.get(0));
     }
+
+    @Test
+    void findAllByRequestIdInTest() {
+        List<Item> items = List.copyOf(itemRepository.findAllByRequestIdIn(List.of(itemRequest.getId())));
+        assertEquals(1, items.size());
+        assertEquals(otherItem, items.get(0));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.dto.ItemDto;
+import ru.practicum.shareit.item.converter.ItemConverter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemConverter itemConverter;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    private final Item item = Item.builder().id(3L).name("Дрель").description("Аккумуляторная дрель").available(true).build();
+    private final ItemDto itemDto = ItemDto.builder().id(3L).name("Дрель").description("Аккумуляторная дрель").available(true).build();
+
+    @Test
+    void toTsQueryBuildsPrefixConjunctionTest() {
+        assertEquals("дрель:* & makita:*", ItemSearchEngine.toTsQuery("  Дрель, MAKITA! "));
+        assertEquals("", ItemSearchEngine.toTsQuery("&|!:*"));
+    }
+
+    @Test
+    void searchUsesSubstringQueryByDefaultTest() {
+        ItemSearchEngine engine = new ItemSearchEngine(itemRepository, itemConverter, itemSearchIndex, true);
+        when(itemRepository.searchItems("%дрел%", PageRequest.of(1, 10)))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
+
+        assertEquals(List.of(itemDto), engine.search("Дрел", 10, 10, SearchSort.NONE));
+        verify(itemRepository, never()).searchItemsByRelevance(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void searchUsesIndexWhenReadyTest() {
+        ItemSearchEngine engine = new ItemSearchEngine(itemRepository, itemConverter, itemSearchIndex, false);
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemSearchIndex.search("Дрел", 0, 10)).thenReturn(new long[] {3L, 4L});
+        when(itemRepository.findItemDtosByIdIn(List.of(3L, 4L))).thenReturn(List.of(itemDto));
+
+        assertEquals(List.of(itemDto), engine.search("Дрел", 0, 10, SearchSort.NONE));
+        verify(itemRepository, never()).searchItems(anyString(), any());
+        verifyNoInteractions(itemConverter);
+    }
+
+    @Test
+    void searchWithoutTokensSkipsIndexTest() {
+        ItemSearchEngine engine = new ItemSearchEngine(itemRepository, itemConverter, itemSearchIndex, false);
+        when(itemSearchIndex.isReady()).thenReturn(true);
+        when(itemRepository.searchItems("%?!%", PageRequest.of(0, 10))).thenReturn(new SliceImpl<>(List.of()));
+
+        assertTrue(engine.search("?!", 0, 10, SearchSort.NONE).isEmpty());
+        verify(itemSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchByRelevanceUsesFullTextQueryTest() {
+        ItemSearchEngine engine = new ItemSearchEngine(itemRepository, itemConverter, itemSearchIndex, true);
+        when(itemRepository.searchItemsByRelevance("дрел:*", "%дрел%", "дрел", PageRequest.of(0, 10)))
+                .thenReturn(List.of(item));
+        when(itemConverter.convert(item)).thenReturn(itemDto);
+
+        assertEquals(List.of(itemDto), engine.search("Дрел", 0, 10, SearchSort.RELEVANCE));
+        verify(itemRepository, never()).searchItems(anyString(), any());
+    }
+
+    @Test
+    void searchByRelevanceFallsBackWhenFullTextDisabledTest() {
+        ItemSearchEngine engine = new ItemSearchEngine(itemRepository, itemConverter, itemSearchIndex, false);
+        when(itemRepository.searchItems("%дрел%", PageRequest.of(0, 10)))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
+
+        assertEquals(List.of(itemDto), engine.search("Дрел", 0, 10, SearchSort.RELEVANCE));
+        verify(itemRepository, never()).searchItemsByRelevance(anyString(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void searchByRelevanceWithoutTokensReturnsEmptyTest() {
+        ItemSearchEngine engine = new ItemSearchEngine(itemRepository, itemConverter, itemSearchIndex, true);
+
+        assertTrue(engine.search("?!", 0, 10, SearchSort.RELEVANCE).isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+}
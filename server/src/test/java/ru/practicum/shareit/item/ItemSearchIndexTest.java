@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemSearchIndex index;
+
+    private final Item drill = Item.builder().id(1L).name("Дрель").description("Аккумуляторная дрель Makita").available(true).build();
+    private final Item hammerDrill = Item.builder().id(2L).name("Перфоратор").description("Мощная дрель-перфоратор").available(true).build();
+    private final Item saw = Item.builder().id(3L).name("Пила").description("Электрическая пила").available(true).build();
+    private final Item brokenDrill = Item.builder().id(4L).name("Дрель").description("Сломанная дрель").available(false).build();
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemSearchIndex(itemRepository, true);
+    }
+
+    @Test
+    void buildIndexesAllItemsTest() {
+        when(itemRepository.findAllBy(PageRequest.of(0, 1000, Sort.by("id"))))
+                .thenReturn(new SliceImpl<>(List.of(drill, hammerDrill, saw, brokenDrill)));
+        assertFalse(index.isReady());
+
+        index.build();
+
+        assertTrue(index.isReady());
+        assertArrayEquals(new long[] {1L, 2L}, index.search("дрел", 0, 10));
+    }
+
+    @Test
+    void searchMatchesSubstringsTest() {
+        indexAll();
+
+        assertArrayEquals(new long[] {1L, 2L}, index.search("ДРЕ", 0, 10));
+        assertArrayEquals(new long[] {1L, 2L}, index.search("рель", 0, 10));
+        assertArrayEquals(new long[] {1L, 2L}, index.search("ная дрель", 0, 10));
+        assertArrayEquals(new long[] {1L}, index.search("дрель mak", 0, 10));
+        assertArrayEquals(new long[] {2L}, index.search("дрель-перф", 0, 10));
+        assertArrayEquals(new long[0], index.search("перф, дре", 0, 10));
+        assertArrayEquals(new long[0], index.search("дрель пила", 0, 10));
+        assertArrayEquals(new long[0], index.search("?!", 0, 10));
+    }
+
+    @Test
+    void searchSkipsUnavailableItemsTest() {
+        indexAll();
+
+        assertArrayEquals(new long[] {1L, 2L}, index.search("дрель", 0, 10));
+    }
+
+    @Test
+    void searchPagesOverMatchesTest() {
+        indexAll();
+
+        assertArrayEquals(new long[] {1L}, index.search("дрель", 0, 1));
+        assertArrayEquals(new long[] {2L}, index.search("дрель", 1, 1));
+        assertArrayEquals(new long[0], index.search("дрель", 2, 1));
+    }
+
+    @Test
+    void indexReplacesUpdatedItemTest() {
+        indexAll();
+
+        index.index(saw.toBuilder().name("Дрель").description("Уже не пила").build());
+        index.index(brokenDrill.toBuilder().available(true).build());
+
+        assertArrayEquals(new long[] {1L, 2L, 3L, 4L}, index.search("дрель", 0, 10));
+        assertArrayEquals(new long[0], index.search("электрическая", 0, 10));
+    }
+
+    @Test
+    void removeDropsItemsAfterCommitTest() {
+        indexAll();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.remove(List.of(1L, 3L));
+            assertArrayEquals(new long[] {1L, 2L}, index.search("дрель", 0, 10));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertArrayEquals(new long[] {2L}, index.search("дрель", 0, 10));
+        assertArrayEquals(new long[0], index.search("пила", 0, 10));
+        assertArrayEquals(new long[0], index.search("makita", 0, 10));
+    }
+
+    @Test
+    void buildSkipsItemsRemovedBeforeItFinishesTest() {
+        index.remove(List.of(3L));
+        when(itemRepository.findAllBy(PageRequest.of(0, 1000, Sort.by("id"))))
+                .thenReturn(new SliceImpl<>(List.of(drill, saw)));
+
+        index.build();
+
+        assertArrayEquals(new long[] {1L}, index.search("л", 0, 10));
+    }
+
+    @Test
+    void buildKeepsItemsIndexedByUpdatesTest() {
+        index.index(saw.toBuilder().description("Новое описание").build());
+        when(itemRepository.findAllBy(PageRequest.of(0, 1000, Sort.by("id"))))
+                .thenReturn(new SliceImpl<>(List.of(saw)));
+
+        index.build();
+
+        assertArrayEquals(new long[] {3L}, index.search("новое", 0, 10));
+        assertArrayEquals(new long[0], index.search("электрическая", 0, 10));
+    }
+
+    @Test
+    void disabledIndexIsNeverReadyTest() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+
+        disabled.warmUp();
+        disabled.index(drill);
+
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(itemRepository);
+    }
+
+    private void indexAll() {
+        List.of(drill, hammerDrill, saw, brokenDrill).forEach(index::index);
+    }
+}
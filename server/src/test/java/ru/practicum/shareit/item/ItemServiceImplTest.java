@@ -7,10 +7,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.Status;
+import ru.practicum.shareit.booking.AvailabilityIndex;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BusyInterval;
 import ru.practicum.shareit.dto.BookingDto;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
@@ -23,8 +24,11 @@ import ru.practicum.shareit.requests.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -49,6 +53,12 @@ class ItemServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private AvailabilityIndex availabilityIndex;
 
     private final User owner = User.builder().id(1L).name("owner").email("owner@email.ru").build();
     private final User booker = User.builder().id(6L).name("booker").email("booker@email.ru").build();
@@ -63,7 +73,8 @@ class ItemServiceImplTest {
 
     @Test
     void createItemTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(owner.getId())).thenReturn(owner);
         when(itemRequestRepository.findById(itemDto.getRequestId())).thenReturn(Optional.ofNullable(itemRequest));
         when(itemConverter.convert(itemDto)).thenReturn(item);
         when(itemRepository.save(any())).thenReturn(item);
@@ -72,15 +83,17 @@ class ItemServiceImplTest {
 
         assertEquals(owner, item.getOwner());
         assertEquals(itemRequest, item.getRequest());
-        verify(userRepository, times(1)).findById(any());
+        verify(userRepository, times(1)).existsById(any());
+        verify(userRepository, never()).findById(any());
         verify(itemRequestRepository, times(1)).findById(any());
         verify(itemRepository, times(1)).save(any());
+        verify(itemSearchIndex, times(1)).index(item);
     }
 
     @Test
     @DisplayName("Check create method throws NotFoundException when empty itemDto")
     void createItemFailTest() {
-        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
         when(itemConverter.convert(itemDto)).thenReturn(null);
         final var thrown = assertThrows(
                     NotFoundException.class, () -> serviceImpl.create(owner.getId(), itemDto));
@@ -105,6 +118,7 @@ class ItemServiceImplTest {
         assertEquals("newDescr", item.getDescription());
         assertEquals("iName", item.getName());
         verify(itemRepository, times(1)).save(any());
+        verify(itemSearchIndex, times(1)).index(item);
     }
 
     @Test
@@ -119,12 +133,17 @@ class ItemServiceImplTest {
 
     @Test
     void searchItemsTest() {
-        Pageable pageable = PageRequest.of(0, 10);
-        when(itemRepository.searchItems(anyString(), eq(pageable)))
-                .thenReturn(new PageImpl<>(List.of(new Item())));
         String text = "iDescription";
-        serviceImpl.searchItems(text, 0, 10);
-        verify(itemRepository, times(1)).searchItems(anyString(),any());
+        when(itemSearchEngine.search(text, 0, 10, SearchSort.NONE)).thenReturn(List.of(itemDto));
+
+        assertEquals(List.of(itemDto), serviceImpl.searchItems(text, 0, 10, SearchSort.NONE));
+        verify(itemSearchEngine, times(1)).search(text, 0, 10, SearchSort.NONE);
+    }
+
+    @Test
+    void searchItemsWithBlankTextTest() {
+        assertTrue(serviceImpl.searchItems(" ", 0, 10, SearchSort.RELEVANCE).isEmpty());
+        verify(itemSearchEngine, never()).search(anyString(), anyInt(), anyInt(), any());
     }
 
     @Test
@@ -134,7 +153,7 @@ class ItemServiceImplTest {
         when(itemRepository.findAllByOwnerId(anyLong(), any()))
                 .thenReturn(new PageImpl<>(List.of(item)));
         when(itemConverter.convertToItemWithBookings(item)).thenReturn(itemWithBookings);
-        when(commentRepository.findAllByItemId(3L)).thenReturn(List.of(comment));
+        when(commentRepository.findAllByItemIdIn(List.of(3L))).thenReturn(List.of(comment));
         when(commentConverter.convert(comment)).thenReturn(commentDto.builder()
                 .id(comment.getId()).text(comment.getText()).build());
 
@@ -143,7 +162,10 @@ class ItemServiceImplTest {
         assertEquals(nextBooking, (items.get(0).getNextBooking()));
         assertNotNull(items.get(0).getComments());
         verify(itemRepository, times(1)).findAllByOwnerId(anyLong(),any());
-        verify(commentRepository, times(1)).findAllByItemId(anyLong());
+        verify(commentRepository, times(1)).findAllByItemIdIn(anyCollection());
+        verify(bookingRepository, times(1)).findLastBookingsByItemIds(anyCollection(), any());
+        verify(bookingRepository, times(1)).findNextBookingsByItemIds(anyCollection(), any());
+        verify(commentRepository, never()).findAllByItemId(anyLong());
     }
 
     @Test
@@ -204,6 +226,62 @@ class ItemServiceImplTest {
 
         serviceImpl.getById(item.getId(), owner.getId());
         verify(itemRepository, times(1)).findById(anyLong());
+        verify(availabilityIndex, times(1)).findLast(eq(item.getId()), any());
+        verify(availabilityIndex, times(1)).findNext(eq(item.getId()), any());
+        verify(bookingRepository, never()).findFirstByItemIdAndEndIsBeforeOrderByEndDesc(anyLong(), any());
+    }
+
+    @Test
+    void getAvailabilityTest() {
+        Item availableItem = Item.builder().id(3L).available(true).owner(owner).build();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusDays(1);
+        when(userRepository.existsById(owner.getId())).thenReturn(true);
+        when(itemRepository.findById(3L)).thenReturn(Optional.of(availableItem));
+        when(availabilityIndex.hasConflict(3L, start, end)).thenReturn(false, true, true);
+        when(bookingRepository.existsOverlapping(eq(3L), eq(start), eq(end), anyCollection())).thenReturn(false, true);
+
+        assertTrue(serviceImpl.getAvailability(owner.getId(), 3L, start, end).getAvailable());
+        assertTrue(serviceImpl.getAvailability(owner.getId(), 3L, start, end).getAvailable());
+        assertFalse(serviceImpl.getAvailability(owner.getId(), 3L, start, end).getAvailable());
+    }
+
+    @Test
+    void streamCalendarTest() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(30);
+        BusyInterval interval = new BusyInterval(3L, 1L, 5L, start.plusDays(1), start.plusDays(2), Status.APPROVED);
+        when(bookingRepository.streamBusyIntervals(eq(List.of(3L)), eq(start), eq(end), anyCollection()))
+                .thenReturn(Stream.of(interval));
+        List<BusyInterval> intervals = new ArrayList<>();
+
+        serviceImpl.streamCalendar(List.of(3L), start, end, intervals::add);
+
+        assertEquals(List.of(interval), intervals);
+    }
+
+    @Test
+    void streamCalendarWithEmptyIdsTest() {
+        LocalDateTime start = LocalDateTime.now();
+        serviceImpl.streamCalendar(List.of(), start, start.plusDays(1), interval -> fail());
+        verify(bookingRepository, never()).streamBusyIntervals(anyCollection(), any(), any(), anyCollection());
+    }
+
+    @Test
+    void getAvailabilityUnknownUserFailTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> serviceImpl.getAvailability(99L, 3L, start, start.plusDays(1)));
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Check getAvailability method throws ValidationException when end is before start")
+    void getAvailabilityFailTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        assertThrows(ValidationException.class, () -> serviceImpl.getAvailability(owner.getId(), 3L, start, start.minusHours(1)));
+        verify(itemRepository, never()).findById(anyLong());
     }
 
     @Test
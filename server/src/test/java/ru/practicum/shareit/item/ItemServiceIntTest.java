@@ -8,15 +8,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 import ru.practicum.shareit.user.User;
 
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -85,7 +88,7 @@ class ItemServiceIntTest {
     @DisplayName("IntegrationTest getItemsById method returns item with Bookings by owner id")
     void searchItemsTest() {
         String emptyText = "";
-        List<Item> items = (List<Item>) itemService.searchItems(emptyText, 0, 10);
+        Collection<ItemDto> items = itemService.searchItems(emptyText, 0, 10, SearchSort.NONE);
         assertThat(items).isEmpty();
     }
 
@@ -110,6 +113,29 @@ class ItemServiceIntTest {
         assertThat(itemRes.getClass().hashCode()).isEqualTo(hashCode);
     }
 
+    @Test
+    @DisplayName("IntegrationTest getById method puts committed item into second-level cache")
+    void getByIdCachesItemTest() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            Cache cache = em.getEntityManagerFactory().getCache();
+            cache.evict(Item.class);
+
+            itemService.getById(item.getId());
+
+            assertThat(cache.contains(Item.class, item.getId())).isTrue();
+            assertThat(cache.contains(Booking.class, booking.getId())).isFalse();
+        } finally {
+            TestTransaction.start();
+            em.createQuery("delete from User u where u.id in :ids")
+                    .setParameter("ids", List.of(owner.getId(), booker.getId()))
+                    .executeUpdate();
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+        }
+    }
+
     @Test
     @DisplayName("IntegrationTest addComment method creates comment to item")
     void addCommentTest() {
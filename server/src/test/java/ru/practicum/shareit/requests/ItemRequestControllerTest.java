@@ -72,7 +72,7 @@ class ItemRequestControllerTest {
     @Test
     @DisplayName("GET getAllUserRequests by Requestor returns ItemRequestDto and status 200 Ok")
     void getAllUserRequestsByRequestorTest() throws Exception {
-        when(requestConverter.convert(itemRequest)).thenReturn(itemRequestDto);
+        when(requestConverter.convertAll(List.of(itemRequest))).thenReturn(List.of(itemRequestDto));
         when(itemRequestService.getAllUserRequests(2L, sortBy)).thenReturn(List.of(itemRequest));
 
         mvc.perform(get("/requests")
@@ -109,7 +109,7 @@ class ItemRequestControllerTest {
     @DisplayName("GET getAllUserRequests returns ItemRequestDto and status 200 Ok")
     void getAllUserRequestsTest() throws Exception {
         when(itemRequestService.getAll(1L,from, size, sortBy)).thenReturn(List.of(itemRequest));
-        when(requestConverter.convert(itemRequest)).thenReturn(itemRequestDto);
+        when(requestConverter.convertAll(List.of(itemRequest))).thenReturn(List.of(itemRequestDto));
 
         mvc.perform(get("/requests/all")
                         .content(mapper.writeValueAsString(itemRequestDto))
@@ -45,20 +45,22 @@ class ItemRequestImplTest {
 
     @Test
     void createItemRequestTest() {
-        when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        when(userRepository.existsById(requestor.getId())).thenReturn(true);
+        when(userRepository.getReferenceById(requestor.getId())).thenReturn(requestor);
         when(requestConverter.convert(any(ItemRequestDto.class))).thenReturn(itemRequest);
         when(itemRequestRepository.save(any())).thenReturn(itemRequest);
 
         serviceImpl.create(2L, itemRequestDto);
 
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
         verify(itemRequestRepository, times(1)).save(any());
     }
 
     @Test
     @DisplayName("Check create method throws NotFoundException when itemDto is empty")
     void createItemRequestFailTest() {
-        when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        when(userRepository.existsById(requestor.getId())).thenReturn(true);
         when(requestConverter.convert(any(ItemRequestDto.class))).thenReturn(null);
 
         final var thrown = assertThrows(
@@ -76,9 +78,9 @@ class ItemRequestImplTest {
 
     @Test
     void getAllUserRequestsTest() {
-        when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        when(userRepository.existsById(requestor.getId())).thenReturn(true);
         serviceImpl.getAllUserRequests(2L, sortBy);
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
         verify(itemRequestRepository, times(1)).getAllByRequestorId(anyLong(), any());
     }
 
@@ -88,18 +90,20 @@ class ItemRequestImplTest {
         final var thrown = assertThrows(
                 NotFoundException.class, () -> serviceImpl.getAllUserRequests(4L, sortBy));
         assertEquals("Пользователь № 4 не найден", thrown.getMessage());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getAllTest() {
-        when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
-        when(itemRequestRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(itemRequest)));
+        when(userRepository.existsById(requestor.getId())).thenReturn(true);
+        when(itemRequestRepository.findAllByRequestorIdNot(anyLong(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(itemRequest)));
         int page = 0;
         int size = 10;
         serviceImpl.getAll(2L, page, size, sortBy);
-        verify(userRepository, times(1)).findById(anyLong());
-        verify(itemRequestRepository, times(1)).findAll(any(Pageable.class));
+        verify(userRepository, times(1)).existsById(anyLong());
+        verify(itemRequestRepository, times(1)).findAllByRequestorIdNot(anyLong(), any(Pageable.class));
+        verify(itemRequestRepository, never()).findAll(any(Pageable.class));
     }
 
     @Test
@@ -108,15 +112,15 @@ class ItemRequestImplTest {
         final var thrown = assertThrows(
                 NotFoundException.class, () -> serviceImpl.getAll(4L,0,10, sortBy));
         assertEquals("Пользователь № 4 не найден", thrown.getMessage());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     void getByIdTest() {
-        when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        when(userRepository.existsById(requestor.getId())).thenReturn(true);
         when(itemRequestRepository.findById(itemRequest.getId())).thenReturn(Optional.of(itemRequest));
         serviceImpl.getById(4L, 2L);
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
         verify(itemRequestRepository, times(1)).findById(anyLong());
     }
 
@@ -126,16 +130,16 @@ class ItemRequestImplTest {
         final var thrown = assertThrows(
                 NotFoundException.class, () -> serviceImpl.getById(4L, 2L));
         assertEquals("Пользователь № 2 не найден", thrown.getMessage());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 
     @Test
     @DisplayName("Check getById method throws NotFoundException when wrong item request")
     void getByIdItemRequestThrowsNotFoundExceptionForItemTest() {
-        when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        when(userRepository.existsById(requestor.getId())).thenReturn(true);
         final var thrown = assertThrows(
                 NotFoundException.class, () -> serviceImpl.getById(4L, requestor.getId()));
         assertEquals("Запрос № 4 не найден", thrown.getMessage());
-        verify(userRepository, times(1)).findById(anyLong());
+        verify(userRepository, times(1)).existsById(anyLong());
     }
 }
\ No newline at end of file
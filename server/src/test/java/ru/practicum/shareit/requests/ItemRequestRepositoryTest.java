@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.user.User;
 
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class ItemRequestRepositoryTest {
@@ -33,4 +35,20 @@ class ItemRequestRepositoryTest {
         List<ItemRequest> requests = (List<ItemRequest>) itemRequestRepository.getAllByRequestorId(requestor.getId(), sort);
         assertEquals(1, requests.size());
     }
+
+    @Test
+    void findAllByRequestorIdNotTest() {
+        User other = User.builder().name("other").email("other@email.ru").build();
+        em.persist(requestor);
+        em.persist(other);
+        em.persist(itemRequest);
+        for (int i = 0; i < 3; i++) {
+            em.persist(ItemRequest.builder().created(LocalDateTime.now()).description("other" + i).requestor(other).build());
+        }
+
+        List<ItemRequest> requests = itemRequestRepository
+                .findAllByRequestorIdNot(requestor.getId(), PageRequest.of(0, 2, sort)).toList();
+        assertEquals(2, requests.size());
+        assertTrue(requests.stream().noneMatch(request -> request.getRequestor().equals(requestor)));
+    }
 }
\ No newline at end of file
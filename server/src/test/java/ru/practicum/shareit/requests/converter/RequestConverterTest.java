@@ -15,11 +15,14 @@ import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RequestConverterTest {
@@ -34,17 +37,34 @@ class RequestConverterTest {
     @Test
     void convertToItemRequestDto() {
         User owner = User.builder().id(1L).name("owner").email("owner@email.ru").build();
-        Item item = Item.builder().id(3L).description("iDescription").owner(owner).build();
-        ItemDto itemDto = ItemDto.builder().id(3L).build();
         ItemRequest itemRequest = ItemRequest.builder().id(4L).description("req")
                 .created(LocalDateTime.now()).build();
+        Item item = Item.builder().id(3L).description("iDescription").owner(owner).request(itemRequest).build();
+        ItemDto itemDto = ItemDto.builder().id(3L).build();
 
-        when(itemRepository.findAllByRequestId(anyLong())).thenReturn(Collections.singletonList(item));
+        when(itemRepository.findAllByRequestIdIn(anyCollection())).thenReturn(Collections.singletonList(item));
         when(converter.convert(item)).thenReturn(itemDto);
         ItemRequestDto itemRequestDto = requestConverter.convert(itemRequest);
 
         assertNotNull(itemRequestDto);
         assertEquals(itemRequestDto.getId(), itemRequest.getId());
         assertEquals(itemRequestDto.getDescription(), itemRequest.getDescription());
+        assertEquals(Set.of(itemDto), itemRequestDto.getItems());
+    }
+
+    @Test
+    void convertAllToItemRequestDtoList() {
+        ItemRequest itemRequest = ItemRequest.builder().id(4L).description("req")
+                .created(LocalDateTime.now()).build();
+        ItemRequest otherRequest = ItemRequest.builder().id(5L).description("other")
+                .created(LocalDateTime.now()).build();
+
+        when(itemRepository.findAllByRequestIdIn(List.of(4L, 5L))).thenReturn(Collections.emptyList());
+        List<ItemRequestDto> itemRequestDtos = requestConverter.convertAll(List.of(itemRequest, otherRequest));
+
+        assertEquals(2, itemRequestDtos.size());
+        assertEquals(otherRequest.getId(), itemRequestDtos.get(1).getId());
+        assertTrue(itemRequestDtos.get(1).getItems().isEmpty());
+        verify(itemRepository, times(1)).findAllByRequestIdIn(anyCollection());
     }
 }
\ No newline at end of file
@@ -7,9 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import ru.practicum.shareit.config.EtagConfig;
 import ru.practicum.shareit.dto.UserDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.user.converter.UserConverter;
@@ -23,11 +27,13 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
 @AutoConfigureMockMvc
+@Import(EtagConfig.class)
 class UserControllerTest {
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
@@ -47,8 +53,7 @@ class UserControllerTest {
     @Test
     @DisplayName("GET getAllUsers returns users and status 200 Ok")
     void getAllUsersTest() throws Exception {
-        when(userConverter.convert(user)).thenReturn(userDto);
-        when(userService.getAllUsers()).thenReturn(List.of(user));
+        when(userService.getAllUsers()).thenReturn(List.of(userDto));
 
         mvc.perform(get("/users")
                         .content(mapper.writeValueAsString(userDto))
@@ -61,6 +66,25 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].name", is(userDto.getName())));
     }
 
+    @Test
+    @DisplayName("GET getById with matching If-None-Match returns status 304 Not Modified")
+    void getUserByIdNotModifiedTest() throws Exception {
+        when(userConverter.convert(user)).thenReturn(userDto);
+        when(userService.getById(1L)).thenReturn(user);
+
+        String eTag = mvc.perform(get("/users/1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(get("/users/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
     @Test
     @DisplayName("GET getById returns user and status 200 Ok")
     void getUserByIdTest() throws Exception {
@@ -143,4 +167,18 @@ class UserControllerTest {
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(status().is(404));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("PATCH update losing an optimistic lock race returns status 409")
+    void updateUserReturnsConflictOnOptimisticLockTest() throws Exception {
+        when(userService.update(anyLong(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(User.class, 1L));
+
+        mvc.perform(patch("/users/1")
+                        .content(mapper.writeValueAsString(userDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.dto.UserDto;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Commits a rename in a second transaction between the read and the commit of the first one.
+ */
+@SpringBootTest(
+        properties = "db.name=test",
+        webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class UserOptimisticLockIntTest {
+
+    @Autowired
+    private EntityManager em;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @SpyBean
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(User.builder().name("u").email("locked@email.ru").build()).getId();
+    }
+
+    @AfterEach
+    void resetSetUp() {
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void versionRejectsStaleUpdateTest() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> transaction.executeWithoutResult(status -> {
+            User stale = userRepository.findById(userId).orElseThrow();
+            renameConcurrently("concurrent");
+            stale.setEmail("stale@email.ru");
+        }));
+
+        User user = userRepository.findById(userId).orElseThrow();
+        assertEquals("concurrent", user.getName());
+        assertEquals("locked@email.ru", user.getEmail());
+        assertEquals(1, user.getVersion());
+    }
+
+    @Test
+    void updateRetriesAndKeepsConcurrentChangeTest() {
+        boolean[] renamed = {false};
+        doAnswer(invocation -> {
+            Optional<User> user = Optional.ofNullable(em.find(User.class, invocation.<Long>getArgument(0)));
+            if (!renamed[0]) {
+                renamed[0] = true;
+                renameConcurrently("concurrent");
+            }
+            return user;
+        }).when(userRepository).findById(anyLong());
+
+        User updated = userService.update(userId, UserDto.builder().email("retried@email.ru").build());
+
+        assertEquals("concurrent", updated.getName());
+        assertEquals("retried@email.ru", updated.getEmail());
+        assertEquals(2, updated.getVersion());
+        verify(userRepository, times(2)).findById(userId);
+    }
+
+    private void renameConcurrently(String name) {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        concurrent.executeWithoutResult(status -> em.createQuery(
+                        "update User u set u.name = :name, u.version = u.version + 1 where u.id = :id")
+                .setParameter("name", name)
+                .setParameter("id", userId)
+                .executeUpdate());
+    }
+}
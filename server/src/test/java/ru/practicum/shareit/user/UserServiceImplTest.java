@@ -5,11 +5,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.AvailabilityIndex;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.dto.UserDto;
 import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
 import ru.practicum.shareit.user.converter.UserConverter;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +41,30 @@ class UserServiceImplTest {
     @Mock
     private UserConverter userConverter;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private org.hibernate.Cache hibernateCache;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private org.springframework.cache.Cache userExistsCache;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
     private final User user = User.builder().id(1L).name("u").email("user@email.ru").build();
 
     @Test
@@ -77,14 +111,43 @@ class UserServiceImplTest {
     @Test
     void deleteUserTest() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+        when(itemRepository.findIdsCascadedFromUser(user.getId())).thenReturn(List.of(3L, 4L));
         serviceImpl.delete(user.getId());
         verify(userRepository, times(1)).delete(any(User.class));
+        verify(itemSearchIndex, times(1)).remove(List.of(3L, 4L));
+        verify(availabilityIndex, times(1)).invalidateAll();
+        verify(hibernateCache, times(1)).evictEntityData(Item.class);
+        verify(hibernateCache, times(1)).evictQueryRegions();
+    }
+
+    @Test
+    void deleteUserEvictsItemCacheAfterCommitTest() {
+        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+        when(cacheManager.getCache(CacheConfig.USER_EXISTS_CACHE)).thenReturn(userExistsCache);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            serviceImpl.delete(user.getId());
+            verify(hibernateCache, never()).evictEntityData(Item.class);
+            verify(userExistsCache, never()).evict(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(userExistsCache, times(1)).evict(user.getId());
+            verify(hibernateCache, times(1)).evictEntityData(Item.class);
+            verify(hibernateCache, times(1)).evictQueryRegions();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
     }
 
     @Test
     void getAllUsersTest() {
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.findAllUserDtos()).thenReturn(List.of(UserDto.builder().id(user.getId()).build()));
         serviceImpl.getAllUsers();
-        verify(userRepository,times(1)).findAll();
+        verify(userRepository,times(1)).findAllUserDtos();
+        verify(userRepository, never()).findAll();
     }
 }
\ No newline at end of file
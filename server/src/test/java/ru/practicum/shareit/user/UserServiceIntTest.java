@@ -7,7 +7,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.CacheConfig;
 import ru.practicum.shareit.dto.UserDto;
 
 import javax.persistence.EntityManager;
@@ -24,6 +27,8 @@ class UserServiceIntTest {
 
     private final EntityManager em;
     private final UserService userService;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
     private final User user = User.builder().name("u").email("user@email.ru").build();
     private final User emptyUser = User.builder().build();
@@ -53,4 +58,17 @@ class UserServiceIntTest {
         int hashCode = userRes.hashCode();
         Assertions.assertThat(userRes.getClass().hashCode()).isEqualTo(hashCode);
     }
-}
\ No newline at end of file
+
+    @Test
+    void userExistsCacheIsEvictedOnDeleteTest() {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_EXISTS_CACHE);
+
+        assertThat(userRepository.existsById(user.getId())).isTrue();
+        assertThat(cache.get(user.getId())).isNotNull();
+        assertThat(userRepository.existsById(-1L)).isFalse();
+        assertThat(cache.get(-1L)).isNull();
+
+        userService.delete(user.getId());
+        assertThat(cache.get(user.getId())).isNull();
+    }
+}